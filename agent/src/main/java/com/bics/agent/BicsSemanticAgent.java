@@ -2,12 +2,19 @@ package com.bics.agent;
 
 import com.bics.agent.config.AgentConfiguration;
 import com.bics.agent.functions.*;
+import com.bics.agent.memory.ConversationMemoryStore;
+import com.bics.agent.memory.ConversationTurn;
+import com.bics.agent.tracing.LatencyBreakdown;
+import com.bics.agent.tracing.Span;
+import com.bics.agent.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Main semantic kernel agent for BICS APIs.
@@ -22,6 +29,12 @@ public class BicsSemanticAgent {
     @Autowired
     private ConnectPlugin connectPlugin;
     
+    @Autowired
+    private ConversationMemoryStore memoryStore;
+    
+    @Autowired
+    private Tracer tracer;
+    
     @PostConstruct
     public void initialize() {
         logger.info("BICS Semantic Agent initialized with {} API plugins", 8);
@@ -32,4 +45,60 @@ public class BicsSemanticAgent {
         // This is where we would integrate with Semantic Kernel when available
         // For now, this provides the foundation structure
     }
+    
+    /**
+     * Process a request as the next turn of a multi-turn conversation.
+     * Returns the trace ID of the turn, see {@link #getLatencyBreakdown(String)}.
+     */
+    public String processRequest(String sessionId, String request) {
+        return processRequest(sessionId, request, () -> { });
+    }
+    
+    /**
+     * Process a request as the next turn and run its tool dispatch within the
+     * turn, so tool calls made through {@link #invokeTool} and their HTTP
+     * calls are part of the turn's trace and latency breakdown.
+     */
+    public String processRequest(String sessionId, String request, Runnable toolDispatch) {
+        try (Span span = tracer.startSpan("agent.turn")) {
+            span.setAttribute("session.id", sessionId);
+            memoryStore.addUserMessage(sessionId, request);
+            List<ConversationTurn> history = memoryStore.getHistory(sessionId);
+            logger.debug("Processing request for session {} with {} turns of history", sessionId, history.size());
+            processRequest(request);
+            try {
+                toolDispatch.run();
+            } catch (RuntimeException e) {
+                span.recordError(e);
+                throw e;
+            }
+            return span.getTraceId();
+        }
+    }
+    
+    /**
+     * Dispatch a tool call within the current turn and record its result in the session.
+     * Called outside a turn's tool dispatch, the call is traced on its own.
+     */
+    public String invokeTool(String sessionId, String toolName, Supplier<String> tool) {
+        try (Span span = tracer.startSpan("tool " + toolName)) {
+            span.setAttribute("tool.name", toolName);
+            try {
+                String result = tool.get();
+                memoryStore.addToolResult(sessionId, toolName, result);
+                return result;
+            } catch (RuntimeException e) {
+                span.recordError(e);
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Latency breakdown of a finished turn: model, tool and HTTP time including
+     * DNS, connect and TLS. Returns null once the turn is no longer retained.
+     */
+    public LatencyBreakdown getLatencyBreakdown(String traceId) {
+        return tracer.getBreakdown(traceId);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.bics.agent.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the HTTP response cache shared by the API plugins.
+ * Only GET responses are cached, in memory and scoped to the caller's
+ * credentials; per-endpoint TTLs are matched by path prefix.
+ */
+@Component
+@ConfigurationProperties(prefix = "agent.http-cache")
+public class HttpCacheConfiguration {
+    private static final Logger logger = LoggerFactory.getLogger(HttpCacheConfiguration.class);
+
+    private boolean enabled = true;
+    private int maxMemoryEntries = 256;
+    private DataSize maxMemorySize = DataSize.ofMegabytes(16);
+    private Duration defaultTtl = Duration.ZERO;
+    private Duration staleWhileRevalidate = Duration.ZERO;
+    private Map<String, Duration> ttlOverrides = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void validate() {
+        if (maxMemoryEntries < 0) {
+            logger.warn("Negative HTTP cache size {} configured, using 0", maxMemoryEntries);
+            maxMemoryEntries = 0;
+        }
+        if (maxMemorySize == null || maxMemorySize.isNegative()) {
+            logger.warn("Invalid HTTP cache memory size {} configured, using 0", maxMemorySize);
+            maxMemorySize = DataSize.ofBytes(0);
+        }
+
+        logger.info("HTTP cache {} (memory entries: {}, memory size: {})",
+                enabled ? "enabled" : "disabled", maxMemoryEntries, maxMemorySize);
+    }
+
+    /**
+     * Resolve the freshness lifetime for a request path. An override applies
+     * to its exact path and the paths below it; the longest matching override
+     * wins, otherwise the default TTL applies.
+     */
+    public Duration ttlFor(String path) {
+        Duration ttl = defaultTtl;
+        int matchedLength = -1;
+        for (Map.Entry<String, Duration> override : ttlOverrides.entrySet()) {
+            String prefix = override.getKey();
+            boolean matches = path.equals(prefix) || path.startsWith(prefix.endsWith("/") ? prefix : prefix + "/");
+            if (matches && prefix.length() > matchedLength) {
+                ttl = override.getValue();
+                matchedLength = prefix.length();
+            }
+        }
+        return ttl != null ? ttl : Duration.ZERO;
+    }
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxMemoryEntries() {
+        return maxMemoryEntries;
+    }
+
+    public void setMaxMemoryEntries(int maxMemoryEntries) {
+        this.maxMemoryEntries = maxMemoryEntries;
+    }
+
+    public DataSize getMaxMemorySize() {
+        return maxMemorySize;
+    }
+
+    public void setMaxMemorySize(DataSize maxMemorySize) {
+        this.maxMemorySize = maxMemorySize;
+    }
+
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    public void setDefaultTtl(Duration defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    public Duration getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public Map<String, Duration> getTtlOverrides() {
+        return ttlOverrides;
+    }
+
+    public void setTtlOverrides(Map<String, Duration> ttlOverrides) {
+        this.ttlOverrides = ttlOverrides;
+    }
+}
@@ -0,0 +1,60 @@
+package com.bics.agent.config;
+
+import com.bics.agent.exceptions.ConfigurationException;
+import com.bics.agent.logging.CountingAsyncAppender;
+import com.bics.agent.logging.SampledLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Configuration for hot-path logging.
+ * The async queue size is read by logback-spring.xml; the success log rate
+ * applies to every {@link SampledLogger}.
+ */
+@Component
+@ConfigurationProperties(prefix = "agent.logging")
+public class LoggingConfiguration {
+    private static final Logger logger = LoggerFactory.getLogger(LoggingConfiguration.class);
+
+    private int successLogsPerSecond = 5;
+    private int asyncQueueSize = 8192;
+
+    @PostConstruct
+    public void validate() throws ConfigurationException {
+        if (successLogsPerSecond < 0) {
+            throw new ConfigurationException("agent.logging.successLogsPerSecond must not be negative");
+        }
+        SampledLogger.setPermitsPerSecond(successLogsPerSecond);
+
+        logger.info("Success logs limited to {} per second per operation", successLogsPerSecond);
+    }
+
+    @PreDestroy
+    public void report() {
+        logger.info("Log events suppressed: {} success, {} failed response; dropped by async queue: {}",
+                SampledLogger.getTotalSuppressed(), SampledLogger.getTotalFailuresSuppressed(),
+                CountingAsyncAppender.getDroppedCount());
+    }
+
+    // Getters and setters
+    public int getSuccessLogsPerSecond() {
+        return successLogsPerSecond;
+    }
+
+    public void setSuccessLogsPerSecond(int successLogsPerSecond) {
+        this.successLogsPerSecond = successLogsPerSecond;
+    }
+
+    public int getAsyncQueueSize() {
+        return asyncQueueSize;
+    }
+
+    public void setAsyncQueueSize(int asyncQueueSize) {
+        this.asyncQueueSize = asyncQueueSize;
+    }
+}
@@ -0,0 +1,112 @@
+package com.bics.agent.config;
+
+import com.bics.agent.exceptions.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+
+/**
+ * Limits for the per-session conversation memory.
+ * Token figures are estimates, see {@link com.bics.agent.memory.TokenEstimator}.
+ */
+@Component
+@ConfigurationProperties(prefix = "agent.memory")
+public class MemoryConfiguration {
+    private static final Logger logger = LoggerFactory.getLogger(MemoryConfiguration.class);
+
+    private int maxSessions = 1000;
+    private Duration sessionIdleTimeout = Duration.ofMinutes(30);
+    private int maxHistoryTokens = 4000;
+    private int maxStoredTokens = 50000;
+    private long maxTotalTokens = 5_000_000;
+    private int keepRecentTurns = 6;
+    private int summaryMaxTokens = 500;
+    private int inlineToolOutputTokens = 300;
+
+    @PostConstruct
+    public void validate() throws ConfigurationException {
+        if (maxSessions <= 0 || maxHistoryTokens <= 0 || maxTotalTokens <= 0) {
+            throw new ConfigurationException("Conversation memory limits must be positive");
+        }
+        if (summaryMaxTokens >= maxHistoryTokens) {
+            throw new ConfigurationException("agent.memory.summaryMaxTokens must be below maxHistoryTokens");
+        }
+        if (maxTotalTokens < (long) maxHistoryTokens + maxStoredTokens) {
+            // A single session may hold this much; a lower global cap cannot be met by evicting others
+            throw new ConfigurationException(
+                    "agent.memory.maxTotalTokens must be at least maxHistoryTokens + maxStoredTokens");
+        }
+
+        logger.info("Conversation memory: {} sessions, {} history tokens per session, {} tokens total",
+                maxSessions, maxHistoryTokens, maxTotalTokens);
+    }
+
+    // Getters and setters
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public void setMaxSessions(int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    public Duration getSessionIdleTimeout() {
+        return sessionIdleTimeout;
+    }
+
+    public void setSessionIdleTimeout(Duration sessionIdleTimeout) {
+        this.sessionIdleTimeout = sessionIdleTimeout;
+    }
+
+    public int getMaxHistoryTokens() {
+        return maxHistoryTokens;
+    }
+
+    public void setMaxHistoryTokens(int maxHistoryTokens) {
+        this.maxHistoryTokens = maxHistoryTokens;
+    }
+
+    public int getMaxStoredTokens() {
+        return maxStoredTokens;
+    }
+
+    public void setMaxStoredTokens(int maxStoredTokens) {
+        this.maxStoredTokens = maxStoredTokens;
+    }
+
+    public long getMaxTotalTokens() {
+        return maxTotalTokens;
+    }
+
+    public void setMaxTotalTokens(long maxTotalTokens) {
+        this.maxTotalTokens = maxTotalTokens;
+    }
+
+    public int getKeepRecentTurns() {
+        return keepRecentTurns;
+    }
+
+    public void setKeepRecentTurns(int keepRecentTurns) {
+        this.keepRecentTurns = keepRecentTurns;
+    }
+
+    public int getSummaryMaxTokens() {
+        return summaryMaxTokens;
+    }
+
+    public void setSummaryMaxTokens(int summaryMaxTokens) {
+        this.summaryMaxTokens = summaryMaxTokens;
+    }
+
+    public int getInlineToolOutputTokens() {
+        return inlineToolOutputTokens;
+    }
+
+    public void setInlineToolOutputTokens(int inlineToolOutputTokens) {
+        this.inlineToolOutputTokens = inlineToolOutputTokens;
+    }
+}
@@ -0,0 +1,108 @@
+package com.bics.agent.config;
+
+import com.bics.agent.exceptions.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Configuration for request tracing.
+ * The export file is rotated at {@code exportMaxFileSize}, keeping
+ * {@code exportMaxFiles} rotated files.
+ */
+@Component
+@ConfigurationProperties(prefix = "agent.tracing")
+public class TracingConfiguration {
+    private static final Logger logger = LoggerFactory.getLogger(TracingConfiguration.class);
+
+    private boolean enabled = true;
+    private boolean propagate = true;
+    private String exportFile;
+    private DataSize exportMaxFileSize = DataSize.ofMegabytes(50);
+    private int exportMaxFiles = 2;
+    private int exportQueueCapacity = 4096;
+    private int breakdownHistorySize = 256;
+    private String serviceName = "bics-semantic-kernel-agent";
+
+    @PostConstruct
+    public void validate() throws ConfigurationException {
+        if (exportMaxFileSize == null || exportMaxFileSize.toBytes() <= 0) {
+            throw new ConfigurationException("agent.tracing.exportMaxFileSize must be positive");
+        }
+        if (exportMaxFiles < 0) {
+            throw new ConfigurationException("agent.tracing.exportMaxFiles must not be negative");
+        }
+
+        logger.info("Tracing {} (export: {}, propagate: {})", enabled ? "enabled" : "disabled",
+                exportFile != null && !exportFile.isEmpty() ? exportFile : "off", propagate);
+    }
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isPropagate() {
+        return propagate;
+    }
+
+    public void setPropagate(boolean propagate) {
+        this.propagate = propagate;
+    }
+
+    public String getExportFile() {
+        return exportFile;
+    }
+
+    public void setExportFile(String exportFile) {
+        this.exportFile = exportFile;
+    }
+
+    public DataSize getExportMaxFileSize() {
+        return exportMaxFileSize;
+    }
+
+    public void setExportMaxFileSize(DataSize exportMaxFileSize) {
+        this.exportMaxFileSize = exportMaxFileSize;
+    }
+
+    public int getExportMaxFiles() {
+        return exportMaxFiles;
+    }
+
+    public void setExportMaxFiles(int exportMaxFiles) {
+        this.exportMaxFiles = exportMaxFiles;
+    }
+
+    public int getExportQueueCapacity() {
+        return exportQueueCapacity;
+    }
+
+    public void setExportQueueCapacity(int exportQueueCapacity) {
+        this.exportQueueCapacity = exportQueueCapacity;
+    }
+
+    public int getBreakdownHistorySize() {
+        return breakdownHistorySize;
+    }
+
+    public void setBreakdownHistorySize(int breakdownHistorySize) {
+        this.breakdownHistorySize = breakdownHistorySize;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+}
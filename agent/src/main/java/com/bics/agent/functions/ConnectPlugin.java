@@ -1,11 +1,15 @@
 package com.bics.agent.functions;
 
+import com.bics.agent.config.AgentConfiguration;
 import com.bics.agent.exceptions.ApiException;
+import com.bics.agent.http.HttpClientFactory;
+import com.bics.agent.logging.SampledLogger;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -17,6 +21,7 @@ import java.io.IOException;
 @Component
 public class ConnectPlugin {
     private static final Logger logger = LoggerFactory.getLogger(ConnectPlugin.class);
+    private static final SampledLogger sampledLogger = new SampledLogger(logger);
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
     
     private final String baseUrl;
@@ -35,13 +40,21 @@ public class ConnectPlugin {
         this.objectMapper = new ObjectMapper();
     }
     
+    @Autowired
+    public ConnectPlugin(AgentConfiguration config, HttpClientFactory httpClientFactory) {
+        String configuredUrl = config.getApiUrl("connect");
+        this.baseUrl = configuredUrl != null ? configuredUrl : "https://connect-api.bics.com";
+        this.httpClient = httpClientFactory.getHttpClient();
+        this.objectMapper = new ObjectMapper();
+    }
+    
     /**
      * Authenticate with the BICS Connect API
      */
     public String authenticate(String clientId, String clientSecret) {
         
         try {
-            logger.info("Authenticating with Connect API for client: {}", clientId);
+            logger.debug("Authenticating with Connect API for client: {}", clientId);
             
             String requestBody = String.format(
                     "{\"client_id\":\"%s\",\"client_secret\":\"%s\",\"grant_type\":\"client_credentials\"}", 
@@ -63,15 +76,15 @@ public class ConnectPlugin {
                 JsonNode jsonNode = objectMapper.readTree(responseBody);
                 String accessToken = jsonNode.get("access_token").asText();
                 
-                logger.info("Authentication successful for client: {}", clientId);
+                sampledLogger.info("authenticate", "Authentication successful for client: {}", clientId);
                 return accessToken;
             }
             
         } catch (IOException e) {
-            logger.error("Error during authentication: {}", e.getMessage(), e);
+            sampledLogger.error("authenticate", "Error during authentication", e);
             throw new RuntimeException("Authentication request failed: " + e.getMessage(), e);
         } catch (ApiException e) {
-            logger.error("API error during authentication: {}", e.getMessage(), e);
+            sampledLogger.error("authenticate", "API error during authentication", e);
             throw new RuntimeException(e.getMessage(), e);
         }
     }
@@ -81,7 +94,7 @@ public class ConnectPlugin {
      */
     public String getStatus() {
         try {
-            logger.info("Getting Connect API status");
+            logger.debug("Getting Connect API status");
             
             Request request = new Request.Builder()
                     .url(baseUrl + "/status")
@@ -95,15 +108,15 @@ public class ConnectPlugin {
                     throw new ApiException("Failed to get API status", response.code(), responseBody);
                 }
                 
-                logger.info("Connect API status retrieved successfully");
+                sampledLogger.info("getStatus", "Connect API status retrieved successfully");
                 return responseBody;
             }
             
         } catch (IOException e) {
-            logger.error("Error getting API status: {}", e.getMessage(), e);
+            sampledLogger.error("getStatus", "Error getting API status", e);
             throw new RuntimeException("Status request failed: " + e.getMessage(), e);
         } catch (ApiException e) {
-            logger.error("API error getting status: {}", e.getMessage(), e);
+            sampledLogger.error("getStatus", "API error getting status", e);
             throw new RuntimeException(e.getMessage(), e);
         }
     }
@@ -114,7 +127,7 @@ public class ConnectPlugin {
     public String validateToken(String accessToken) {
         
         try {
-            logger.info("Validating access token");
+            logger.debug("Validating access token");
             
             Request request = new Request.Builder()
                     .url(baseUrl + "/oauth/validate")
@@ -129,15 +142,15 @@ public class ConnectPlugin {
                     throw new ApiException("Token validation failed", response.code(), responseBody);
                 }
                 
-                logger.info("Token validation successful");
+                sampledLogger.info("validateToken", "Token validation successful");
                 return responseBody;
             }
             
         } catch (IOException e) {
-            logger.error("Error during token validation: {}", e.getMessage(), e);
+            sampledLogger.error("validateToken", "Error during token validation", e);
             throw new RuntimeException("Token validation request failed: " + e.getMessage(), e);
         } catch (ApiException e) {
-            logger.error("API error during token validation: {}", e.getMessage(), e);
+            sampledLogger.error("validateToken", "API error during token validation", e);
             throw new RuntimeException(e.getMessage(), e);
         }
     }
@@ -1,16 +1,26 @@
 package com.bics.agent.functions;
 
+import com.bics.agent.config.AgentConfiguration;
+import com.bics.agent.exceptions.ApiException;
+import com.bics.agent.http.HttpClientFactory;
+import com.bics.agent.logging.SampledLogger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+
 /**
  * Plugin for the BICS MyNumbers Address Management API.
  */
 @Component
 public class MyNumbersAddressManagementPlugin {
     private static final Logger logger = LoggerFactory.getLogger(MyNumbersAddressManagementPlugin.class);
+    private static final SampledLogger sampledLogger = new SampledLogger(logger);
     
     private final String baseUrl;
     private final OkHttpClient httpClient;
@@ -25,11 +35,44 @@ public class MyNumbersAddressManagementPlugin {
         this.httpClient = new OkHttpClient();
     }
     
+    @Autowired
+    public MyNumbersAddressManagementPlugin(AgentConfiguration config, HttpClientFactory httpClientFactory) {
+        String configuredUrl = config.getApiUrl("mynumbers-address");
+        this.baseUrl = configuredUrl != null ? configuredUrl : "https://mynumbers-api.bics.com";
+        this.httpClient = httpClientFactory.getHttpClient();
+    }
+    
     /**
      * Get address information
      */
     public String getAddresses(String accessToken) {
-        // TODO: Implement based on OpenAPI spec
-        return "{}";
+        
+        try {
+            logger.debug("Getting addresses");
+            
+            Request request = new Request.Builder()
+                    .url(baseUrl + "/v1/addresses")
+                    .get()
+                    .addHeader("Authorization", "Bearer " + accessToken)
+                    .build();
+            
+            try (Response response = httpClient.newCall(request).execute()) {
+                String responseBody = response.body() != null ? response.body().string() : "";
+                
+                if (!response.isSuccessful()) {
+                    throw new ApiException("Failed to get addresses", response.code(), responseBody);
+                }
+                
+                sampledLogger.info("getAddresses", "Successfully retrieved addresses");
+                return responseBody;
+            }
+            
+        } catch (IOException e) {
+            sampledLogger.error("getAddresses", "Error getting addresses", e);
+            throw new RuntimeException("Get addresses request failed: " + e.getMessage(), e);
+        } catch (ApiException e) {
+            sampledLogger.error("getAddresses", "API error getting addresses", e);
+            throw new RuntimeException(e.getMessage(), e);
+        }
     }
 }
\ No newline at end of file
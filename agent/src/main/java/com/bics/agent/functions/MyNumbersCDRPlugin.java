@@ -1,5 +1,8 @@
 package com.bics.agent.functions;
 
+import com.bics.agent.config.AgentConfiguration;
+import com.bics.agent.http.HttpClientFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
@@ -25,6 +28,13 @@ public class MyNumbersCDRPlugin {
         this.httpClient = new OkHttpClient();
     }
     
+    @Autowired
+    public MyNumbersCDRPlugin(AgentConfiguration config, HttpClientFactory httpClientFactory) {
+        String configuredUrl = config.getApiUrl("mynumbers-cdr");
+        this.baseUrl = configuredUrl != null ? configuredUrl : "https://mynumbers-api.bics.com";
+        this.httpClient = httpClientFactory.getHttpClient();
+    }
+    
     /**
      * Get call detail records
      */
@@ -1,5 +1,8 @@
 package com.bics.agent.functions;
 
+import com.bics.agent.config.AgentConfiguration;
+import com.bics.agent.http.HttpClientFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
@@ -25,6 +28,13 @@ public class MyNumbersDisconnectionPlugin {
         this.httpClient = new OkHttpClient();
     }
     
+    @Autowired
+    public MyNumbersDisconnectionPlugin(AgentConfiguration config, HttpClientFactory httpClientFactory) {
+        String configuredUrl = config.getApiUrl("mynumbers-disconnection");
+        this.baseUrl = configuredUrl != null ? configuredUrl : "https://mynumbers-api.bics.com";
+        this.httpClient = httpClientFactory.getHttpClient();
+    }
+    
     /**
      * Disconnect a number
      */
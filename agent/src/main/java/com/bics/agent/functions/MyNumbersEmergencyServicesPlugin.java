@@ -1,16 +1,26 @@
 package com.bics.agent.functions;
 
+import com.bics.agent.config.AgentConfiguration;
+import com.bics.agent.exceptions.ApiException;
+import com.bics.agent.http.HttpClientFactory;
+import com.bics.agent.logging.SampledLogger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+
 /**
  * Plugin for the BICS MyNumbers Emergency Services API.
  */
 @Component
 public class MyNumbersEmergencyServicesPlugin {
     private static final Logger logger = LoggerFactory.getLogger(MyNumbersEmergencyServicesPlugin.class);
+    private static final SampledLogger sampledLogger = new SampledLogger(logger);
     
     private final String baseUrl;
     private final OkHttpClient httpClient;
@@ -25,11 +35,44 @@ public class MyNumbersEmergencyServicesPlugin {
         this.httpClient = new OkHttpClient();
     }
     
+    @Autowired
+    public MyNumbersEmergencyServicesPlugin(AgentConfiguration config, HttpClientFactory httpClientFactory) {
+        String configuredUrl = config.getApiUrl("mynumbers-emergency");
+        this.baseUrl = configuredUrl != null ? configuredUrl : "https://mynumbers-api.bics.com";
+        this.httpClient = httpClientFactory.getHttpClient();
+    }
+    
     /**
      * Get emergency services configuration
      */
     public String getEmergencyServices(String accessToken) {
-        // TODO: Implement based on OpenAPI spec
-        return "{}";
+        
+        try {
+            logger.debug("Getting emergency services");
+            
+            Request request = new Request.Builder()
+                    .url(baseUrl + "/v1/emergency-services")
+                    .get()
+                    .addHeader("Authorization", "Bearer " + accessToken)
+                    .build();
+            
+            try (Response response = httpClient.newCall(request).execute()) {
+                String responseBody = response.body() != null ? response.body().string() : "";
+                
+                if (!response.isSuccessful()) {
+                    throw new ApiException("Failed to get emergency services", response.code(), responseBody);
+                }
+                
+                sampledLogger.info("getEmergencyServices", "Successfully retrieved emergency services");
+                return responseBody;
+            }
+            
+        } catch (IOException e) {
+            sampledLogger.error("getEmergencyServices", "Error getting emergency services", e);
+            throw new RuntimeException("Get emergency services request failed: " + e.getMessage(), e);
+        } catch (ApiException e) {
+            sampledLogger.error("getEmergencyServices", "API error getting emergency services", e);
+            throw new RuntimeException(e.getMessage(), e);
+        }
     }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.bics.agent.functions;
 
+import com.bics.agent.config.AgentConfiguration;
 import com.bics.agent.exceptions.ApiException;
+import com.bics.agent.http.HttpClientFactory;
+import com.bics.agent.logging.SampledLogger;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -15,6 +19,7 @@ import java.io.IOException;
 @Component
 public class MyNumbersPlugin {
     private static final Logger logger = LoggerFactory.getLogger(MyNumbersPlugin.class);
+    private static final SampledLogger sampledLogger = new SampledLogger(logger);
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
     
     private final String baseUrl;
@@ -30,13 +35,20 @@ public class MyNumbersPlugin {
         this.httpClient = new OkHttpClient();
     }
     
+    @Autowired
+    public MyNumbersPlugin(AgentConfiguration config, HttpClientFactory httpClientFactory) {
+        String configuredUrl = config.getApiUrl("mynumbers");
+        this.baseUrl = configuredUrl != null ? configuredUrl : "https://mynumbers-api.bics.com";
+        this.httpClient = httpClientFactory.getHttpClient();
+    }
+    
     /**
      * Get list of available numbers
      */
     public String getNumbers(String accessToken, String countryCode) {
         
         try {
-            logger.info("Getting available numbers for country: {}", countryCode);
+            logger.debug("Getting available numbers for country: {}", countryCode);
             
             HttpUrl.Builder urlBuilder = HttpUrl.parse(baseUrl + "/v1/numbers").newBuilder();
             if (countryCode != null && !countryCode.isEmpty()) {
@@ -56,15 +68,15 @@ public class MyNumbersPlugin {
                     throw new ApiException("Failed to get numbers", response.code(), responseBody);
                 }
                 
-                logger.info("Successfully retrieved numbers for country: {}", countryCode);
+                sampledLogger.info("getNumbers", "Successfully retrieved numbers for country: {}", countryCode);
                 return responseBody;
             }
             
         } catch (IOException e) {
-            logger.error("Error getting numbers: {}", e.getMessage(), e);
+            sampledLogger.error("getNumbers", "Error getting numbers", e);
             throw new RuntimeException("Get numbers request failed: " + e.getMessage(), e);
         } catch (ApiException e) {
-            logger.error("API error getting numbers: {}", e.getMessage(), e);
+            sampledLogger.error("getNumbers", "API error getting numbers", e);
             throw new RuntimeException(e.getMessage(), e);
         }
     }
@@ -75,7 +87,7 @@ public class MyNumbersPlugin {
     public String reserveNumber(String accessToken, String phoneNumber) {
         
         try {
-            logger.info("Reserving number: {}", phoneNumber);
+            logger.debug("Reserving number: {}", phoneNumber);
             
             String requestBody = String.format("{\"phone_number\":\"%s\"}", phoneNumber);
             
@@ -93,15 +105,15 @@ public class MyNumbersPlugin {
                     throw new ApiException("Failed to reserve number", response.code(), responseBody);
                 }
                 
-                logger.info("Successfully reserved number: {}", phoneNumber);
+                sampledLogger.info("reserveNumber", "Successfully reserved number: {}", phoneNumber);
                 return responseBody;
             }
             
         } catch (IOException e) {
-            logger.error("Error reserving number: {}", e.getMessage(), e);
+            sampledLogger.error("reserveNumber", "Error reserving number", e);
             throw new RuntimeException("Reserve number request failed: " + e.getMessage(), e);
         } catch (ApiException e) {
-            logger.error("API error reserving number: {}", e.getMessage(), e);
+            sampledLogger.error("reserveNumber", "API error reserving number", e);
             throw new RuntimeException(e.getMessage(), e);
         }
     }
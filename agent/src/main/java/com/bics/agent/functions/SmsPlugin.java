@@ -1,5 +1,9 @@
 package com.bics.agent.functions;
 
+import com.bics.agent.config.AgentConfiguration;
+import com.bics.agent.http.HttpClientFactory;
+import com.bics.agent.logging.SampledLogger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import okhttp3.OkHttpClient;
 import okhttp3.MediaType;
@@ -17,6 +21,7 @@ import java.io.IOException;
 @Component
 public class SmsPlugin {
     private static final Logger logger = LoggerFactory.getLogger(SmsPlugin.class);
+    private static final SampledLogger sampledLogger = new SampledLogger(logger);
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
     
     private final String baseUrl;
@@ -32,13 +37,20 @@ public class SmsPlugin {
         this.httpClient = new OkHttpClient();
     }
     
+    @Autowired
+    public SmsPlugin(AgentConfiguration config, HttpClientFactory httpClientFactory) {
+        String configuredUrl = config.getApiUrl("sms");
+        this.baseUrl = configuredUrl != null ? configuredUrl : "https://sms-api.bics.com";
+        this.httpClient = httpClientFactory.getHttpClient();
+    }
+    
     /**
      * Send an SMS message
      */
     public String sendSms(String accessToken, String to, String message) {
         
         try {
-            logger.info("Sending SMS to: {}", to);
+            logger.debug("Sending SMS to: {}", to);
             
             String requestBody = String.format(
                     "{\"to\":\"%s\",\"message\":\"%s\"}", 
@@ -55,16 +67,16 @@ public class SmsPlugin {
                 String responseBody = response.body() != null ? response.body().string() : "";
                 
                 if (!response.isSuccessful()) {
-                    logger.error("Failed to send SMS: {} {}", response.code(), responseBody);
+                    sampledLogger.errorResponse("sendSms", "Failed to send SMS", response.code(), responseBody);
                     return String.format("{\"error\":\"Failed to send SMS\",\"status\":%d}", response.code());
                 }
                 
-                logger.info("SMS sent successfully to: {}", to);
+                sampledLogger.info("sendSms", "SMS sent successfully to: {}", to);
                 return responseBody;
             }
             
         } catch (IOException e) {
-            logger.error("Error sending SMS: {}", e.getMessage(), e);
+            sampledLogger.error("sendSms", "Error sending SMS", e);
             return String.format("{\"error\":\"SMS send failed: %s\"}", e.getMessage());
         }
     }
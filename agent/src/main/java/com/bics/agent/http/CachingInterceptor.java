@@ -0,0 +1,372 @@
+package com.bics.agent.http;
+
+import com.bics.agent.config.HttpCacheConfiguration;
+import com.bics.agent.tracing.HttpTracing;
+import com.bics.agent.tracing.Span;
+import okhttp3.*;
+import okio.ByteString;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory response cache for GET requests.
+ * Paths with a configured TTL are cached for that long; other paths are only
+ * cached when the server allows it with {@code max-age}. Fresh entries are
+ * served without touching the network; expired entries are revalidated with
+ * If-None-Match/If-Modified-Since so unchanged data costs a 304. For paths with
+ * a configured TTL, stale entries are returned at once within the
+ * stale-while-revalidate window and revalidated in the background. Error
+ * responses evict the entry, and any non-GET request invalidates its path.
+ * With tracing, responses served from the cache are marked on the call's
+ * client span with an {@code http.cache} attribute (hit, stale or revalidated).
+ */
+public class CachingInterceptor implements Interceptor {
+    private static final Logger logger = LoggerFactory.getLogger(CachingInterceptor.class);
+
+    private final HttpCacheConfiguration config;
+    private final OkHttpClient revalidationClient;
+    private final HttpTracing tracing;
+    private final Clock clock;
+    private final Map<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long entryBytes;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    public CachingInterceptor(HttpCacheConfiguration config, OkHttpClient revalidationClient) {
+        this(config, revalidationClient, null, Clock.systemUTC());
+    }
+
+    public CachingInterceptor(HttpCacheConfiguration config, OkHttpClient revalidationClient, Clock clock) {
+        this(config, revalidationClient, null, clock);
+    }
+
+    public CachingInterceptor(HttpCacheConfiguration config, OkHttpClient revalidationClient,
+                              HttpTracing tracing, Clock clock) {
+        this.config = config;
+        this.revalidationClient = revalidationClient;
+        this.tracing = tracing;
+        this.clock = clock;
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method())) {
+            try {
+                return chain.proceed(request);
+            } finally {
+                // Also on failure: the server may have applied the change before the connection broke
+                invalidate(request.url().encodedPath());
+            }
+        }
+        if (config.getMaxMemoryEntries() == 0) {
+            return chain.proceed(request);
+        }
+
+        String key = cacheKey(request);
+        CachedResponse cached = lookup(key);
+
+        Request networkRequest = request;
+        if (cached != null) {
+            long age = clock.millis() - cached.storedAtMillis;
+            if (age < cached.ttlMillis) {
+                hits.incrementAndGet();
+                logger.debug("HTTP cache hit for {}", request.url());
+                markSpan(chain.call(), "hit", cached.code);
+                return cached.toResponse(request);
+            }
+            if (age < cached.ttlMillis + cached.staleMillis) {
+                hits.incrementAndGet();
+                logger.debug("HTTP cache serving stale {} while revalidating", request.url());
+                revalidateAsync(key, request, cached);
+                markSpan(chain.call(), "stale", cached.code);
+                return cached.toResponse(request);
+            }
+            networkRequest = conditional(request, cached);
+        }
+
+        misses.incrementAndGet();
+        Response response = chain.proceed(networkRequest);
+        return handleNetworkResponse(chain.call(), key, request, cached, response);
+    }
+
+    private Response handleNetworkResponse(Call call, String key, Request request, CachedResponse cached,
+                                           Response response) throws IOException {
+        if (response.code() == 304 && cached != null) {
+            response.close();
+            notModified.incrementAndGet();
+            markSpan(call, "revalidated", cached.code);
+            CachedResponse refreshed = cached.refreshed(response.headers(), clock.millis());
+            store(key, refreshed);
+            return refreshed.toResponse(request);
+        }
+
+        if (response.code() >= 400) {
+            // Never keep serving data the server now refuses, e.g. a revoked token
+            remove(key);
+            return response;
+        }
+
+        long ttl = ttlFor(request, response);
+        if (ttl <= 0 || !isStorable(response) || response.body() == null) {
+            remove(key);
+            return response;
+        }
+
+        ResponseBody body = response.body();
+        MediaType mediaType = body.contentType();
+        byte[] bytes = body.bytes();
+        long staleWindow = configuredTtl(request) > 0 ? config.getStaleWhileRevalidate().toMillis() : 0;
+        store(key, new CachedResponse(request.url().encodedPath(), response.code(), response.message(),
+                response.protocol(), response.headers(), bytes, mediaType, clock.millis(), ttl, staleWindow));
+        return response.newBuilder()
+                .body(ResponseBody.create(bytes, mediaType))
+                .build();
+    }
+
+    private void revalidateAsync(String key, Request request, CachedResponse cached) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        revalidations.incrementAndGet();
+        revalidationClient.newCall(conditional(request, cached)).enqueue(new Callback() {
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                try (response) {
+                    handleNetworkResponse(call, key, request, cached, response).close();
+                } catch (IOException e) {
+                    logger.warn("Background revalidation of {} failed: {}", request.url(), e.getMessage());
+                } finally {
+                    revalidating.remove(key);
+                }
+            }
+
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                revalidating.remove(key);
+                logger.warn("Background revalidation of {} failed: {}", request.url(), e.getMessage());
+            }
+        });
+    }
+
+    private void markSpan(Call call, String cacheResult, int code) {
+        Span span = tracing != null ? tracing.getSpan(call) : null;
+        if (span != null) {
+            span.setAttribute("http.cache", cacheResult)
+                    .setAttribute("http.status_code", code);
+        }
+    }
+
+    private static Request conditional(Request request, CachedResponse cached) {
+        Request.Builder builder = request.newBuilder();
+        String etag = cached.headers.get("ETag");
+        String lastModified = cached.headers.get("Last-Modified");
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            builder.header("If-Modified-Since", lastModified);
+        }
+        return builder.build();
+    }
+
+    private long configuredTtl(Request request) {
+        return config.ttlFor(request.url().encodedPath()).toMillis();
+    }
+
+    /**
+     * Freshness lifetime for a response: the configured TTL for its path when
+     * positive, otherwise the server's max-age; 0 means the response is not cached.
+     */
+    private long ttlFor(Request request, Response response) {
+        long ttl = configuredTtl(request);
+        if (ttl > 0) {
+            return ttl;
+        }
+        CacheControl cacheControl = response.cacheControl();
+        if (cacheControl.noCache() || cacheControl.maxAgeSeconds() <= 0) {
+            return 0;
+        }
+        return TimeUnit.SECONDS.toMillis(cacheControl.maxAgeSeconds());
+    }
+
+    private static boolean isStorable(Response response) {
+        CacheControl cacheControl = response.cacheControl();
+        return response.code() == 200 && !cacheControl.noStore() && response.header("Vary") == null;
+    }
+
+    /**
+     * Entries are scoped to the caller's credentials so one token never sees
+     * another token's cached data. Only a digest of the header is kept.
+     */
+    private static String cacheKey(Request request) {
+        String authorization = request.header("Authorization");
+        String scope = authorization != null ? ByteString.encodeUtf8(authorization).sha256().hex() : "-";
+        return scope + " " + request.url();
+    }
+
+    private CachedResponse lookup(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private void store(String key, CachedResponse response) {
+        long maxBytes = config.getMaxMemorySize().toBytes();
+        synchronized (entries) {
+            if (response.body.length > maxBytes) {
+                removeEntry(key);
+                return;
+            }
+            CachedResponse previous = entries.put(key, response);
+            entryBytes += response.body.length - (previous != null ? previous.body.length : 0);
+            Iterator<CachedResponse> eldest = entries.values().iterator();
+            while ((entries.size() > config.getMaxMemoryEntries() || entryBytes > maxBytes) && eldest.hasNext()) {
+                entryBytes -= eldest.next().body.length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private void remove(String key) {
+        synchronized (entries) {
+            removeEntry(key);
+        }
+    }
+
+    private void removeEntry(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            entryBytes -= removed.body.length;
+        }
+    }
+
+    /**
+     * Drop every entry, for any credentials, whose path is the changed
+     * resource, lies below it, or is its parent collection; a POST to
+     * /v1/numbers/reserve invalidates cached /v1/numbers listings.
+     */
+    private void invalidate(String path) {
+        int lastSlash = path.lastIndexOf('/');
+        String parent = lastSlash > 0 ? path.substring(0, lastSlash) : null;
+        synchronized (entries) {
+            Iterator<CachedResponse> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                CachedResponse entry = iterator.next();
+                if (entry.path.equals(path) || entry.path.startsWith(path + "/") || entry.path.equals(parent)) {
+                    entryBytes -= entry.body.length;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            entryBytes = 0;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Total size of the cached bodies in bytes
+     */
+    public long sizeInBytes() {
+        synchronized (entries) {
+            return entryBytes;
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getRevalidationCount() {
+        return revalidations.get();
+    }
+
+    public long getNotModifiedCount() {
+        return notModified.get();
+    }
+
+    private static final class CachedResponse {
+        private final String path;
+        private final int code;
+        private final String message;
+        private final Protocol protocol;
+        private final Headers headers;
+        private final byte[] body;
+        private final MediaType mediaType;
+        private final long storedAtMillis;
+        private final long ttlMillis;
+        private final long staleMillis;
+
+        private CachedResponse(String path, int code, String message, Protocol protocol, Headers headers,
+                               byte[] body, MediaType mediaType, long storedAtMillis, long ttlMillis,
+                               long staleMillis) {
+            this.path = path;
+            this.code = code;
+            this.message = message;
+            this.protocol = protocol;
+            this.headers = headers;
+            this.body = body;
+            this.mediaType = mediaType;
+            this.storedAtMillis = storedAtMillis;
+            this.ttlMillis = ttlMillis;
+            this.staleMillis = staleMillis;
+        }
+
+        /**
+         * Merge the headers of a 304 into the stored response and restart its lifetime.
+         */
+        private CachedResponse refreshed(Headers notModifiedHeaders, long now) {
+            Headers.Builder merged = headers.newBuilder();
+            for (String name : notModifiedHeaders.names()) {
+                if (!"Content-Length".equalsIgnoreCase(name)) {
+                    merged.set(name, notModifiedHeaders.get(name));
+                }
+            }
+            return new CachedResponse(path, code, message, protocol, merged.build(), body, mediaType, now,
+                    ttlMillis, staleMillis);
+        }
+
+        private Response toResponse(Request request) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(protocol)
+                    .code(code)
+                    .message(message)
+                    .headers(headers)
+                    .body(ResponseBody.create(body, mediaType))
+                    .sentRequestAtMillis(storedAtMillis)
+                    .receivedResponseAtMillis(storedAtMillis)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.bics.agent.http;
+
+import com.bics.agent.config.HttpCacheConfiguration;
+import com.bics.agent.tracing.HttpTracing;
+import com.bics.agent.tracing.Tracer;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+
+/**
+ * Builds the OkHttp client shared by the API plugins.
+ * All plugins reuse one connection pool and dispatcher; when caching is enabled
+ * GET responses go through the in-memory {@link CachingInterceptor}. OkHttp's
+ * on-disk cache is not used since it is keyed by URL alone and would share
+ * responses between access tokens.
+ * With a tracer, every call gets a client span and trace context headers.
+ */
+@Component
+public class HttpClientFactory {
+    private final OkHttpClient httpClient;
+    private final CachingInterceptor cachingInterceptor;
+
+    public HttpClientFactory(HttpCacheConfiguration cacheConfig) {
+        this(cacheConfig, null);
+    }
+
+    @Autowired
+    public HttpClientFactory(HttpCacheConfiguration cacheConfig, Tracer tracer) {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        HttpTracing tracing = tracer != null ? new HttpTracing(tracer) : null;
+        if (tracing != null) {
+            builder.eventListenerFactory(tracing).addNetworkInterceptor(tracing);
+        }
+
+        if (cacheConfig.isEnabled()) {
+            OkHttpClient networkClient = builder.build();
+            this.cachingInterceptor = new CachingInterceptor(cacheConfig, networkClient, tracing, Clock.systemUTC());
+            this.httpClient = networkClient.newBuilder()
+                    .addInterceptor(cachingInterceptor)
+                    .build();
+        } else {
+            this.cachingInterceptor = null;
+            this.httpClient = builder.build();
+        }
+    }
+
+    /**
+     * Get the shared HTTP client
+     */
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Get the in-memory cache layer, or null when caching is disabled
+     */
+    public CachingInterceptor getCachingInterceptor() {
+        return cachingInterceptor;
+    }
+
+    /**
+     * Stop the dispatcher threads and release pooled connections
+     */
+    @PreDestroy
+    public void close() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bics.agent.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback {@link AsyncAppender} that counts the events it drops.
+ * Events below WARN are discarded once the queue passes the discarding
+ * threshold, and with {@code neverBlock} any event is dropped when the queue
+ * is full. The full-queue count is approximate since the capacity check and
+ * the enqueue are not atomic.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+    private static final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Events dropped since startup, across all instances
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            dropped.incrementAndGet();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            dropped.incrementAndGet();
+        }
+        return discardable;
+    }
+}
@@ -0,0 +1,145 @@
+package com.bics.agent.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate-limited logging for the plugin hot path.
+ * Success lines are limited to a number of events per second per operation;
+ * the rest are counted and the count is attached to the next emitted line as
+ * the {@code suppressed} key. Failed responses are limited the same way,
+ * so a burst of 429s cannot flood the log. Exceptions are always logged, but
+ * only the first ones per second per operation carry a stack trace.
+ * Every event carries the operation as the {@code operation} key.
+ */
+public class SampledLogger {
+    private static final int MAX_BODY_CHARS = 200;
+    private static final AtomicLong totalSuppressed = new AtomicLong();
+    private static final AtomicLong totalFailuresSuppressed = new AtomicLong();
+    private static volatile int permitsPerSecond = 5;
+
+    private final Logger logger;
+    private final Map<String, Window> successWindows = new ConcurrentHashMap<>();
+    private final Map<String, Window> failureWindows = new ConcurrentHashMap<>();
+    private final Map<String, Window> stackTraceWindows = new ConcurrentHashMap<>();
+
+    public SampledLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Set the number of events per second and operation let through, shared by all instances
+     */
+    public static void setPermitsPerSecond(int permits) {
+        permitsPerSecond = permits;
+    }
+
+    /**
+     * Success lines suppressed since startup, across all instances
+     */
+    public static long getTotalSuppressed() {
+        return totalSuppressed.get();
+    }
+
+    /**
+     * Failed-response lines suppressed since startup, across all instances
+     */
+    public static long getTotalFailuresSuppressed() {
+        return totalFailuresSuppressed.get();
+    }
+
+    /**
+     * Log a success line at INFO, subject to the per-operation rate
+     */
+    public void info(String operation, String format, Object... arguments) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        long suppressed = successWindows.computeIfAbsent(operation, key -> new Window()).tryAcquire();
+        if (suppressed < 0) {
+            totalSuppressed.incrementAndGet();
+            return;
+        }
+        LoggingEventBuilder event = logger.atInfo().addKeyValue("operation", operation);
+        if (suppressed > 0) {
+            event = event.addKeyValue("suppressed", suppressed);
+        }
+        event.log(format, arguments);
+    }
+
+    /**
+     * Log a non-successful response at ERROR as "message: status", subject to
+     * the per-operation rate. The body is attached as the {@code body} key,
+     * truncated to a short prefix.
+     */
+    public void errorResponse(String operation, String message, int status, String body) {
+        if (!logger.isErrorEnabled()) {
+            return;
+        }
+        long suppressed = failureWindows.computeIfAbsent(operation, key -> new Window()).tryAcquire();
+        if (suppressed < 0) {
+            totalFailuresSuppressed.incrementAndGet();
+            return;
+        }
+        LoggingEventBuilder event = logger.atError().addKeyValue("operation", operation);
+        if (suppressed > 0) {
+            event = event.addKeyValue("suppressed", suppressed);
+        }
+        if (body != null && !body.isEmpty()) {
+            event = event.addKeyValue("body", body.length() > MAX_BODY_CHARS
+                    ? body.substring(0, MAX_BODY_CHARS) + "..." : body);
+        }
+        event.log(message + ": {}", status);
+    }
+
+    /**
+     * Log a failure at ERROR as "message: cause message", with the stack
+     * trace only while the operation is within its rate
+     */
+    public void error(String operation, String message, Throwable error) {
+        if (!logger.isErrorEnabled()) {
+            return;
+        }
+        LoggingEventBuilder event = logger.atError()
+                .addKeyValue("operation", operation)
+                .setMessage(message + ": {}")
+                .addArgument(error.getMessage());
+        long suppressed = stackTraceWindows.computeIfAbsent(operation, key -> new Window()).tryAcquire();
+        if (suppressed >= 0) {
+            event = event.setCause(error);
+        }
+        event.log();
+    }
+
+    /**
+     * Fixed one-second window. Resets race benignly: a few extra events may
+     * pass at a window boundary.
+     */
+    private static final class Window {
+        private final AtomicLong windowStart = new AtomicLong();
+        private final AtomicInteger used = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        /**
+         * Returns the number of events suppressed since the last permitted
+         * one if this event is permitted, or -1 if it should be suppressed
+         */
+        long tryAcquire() {
+            long second = System.nanoTime() / 1_000_000_000L;
+            long start = windowStart.get();
+            if (second != start && windowStart.compareAndSet(start, second)) {
+                used.set(0);
+            }
+            if (used.incrementAndGet() > permitsPerSecond) {
+                suppressed.incrementAndGet();
+                return -1;
+            }
+            return suppressed.getAndSet(0);
+        }
+    }
+}
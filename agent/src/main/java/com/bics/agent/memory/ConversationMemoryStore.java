@@ -0,0 +1,254 @@
+package com.bics.agent.memory;
+
+import com.bics.agent.config.MemoryConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded store of conversation sessions.
+ * Each session's prompt history is capped by token count, with old turns
+ * folded into a summary. Sessions are evicted least recently used first when
+ * idle for too long, when there are too many, or when the global token budget
+ * is exceeded.
+ */
+@Component
+public class ConversationMemoryStore {
+    private static final Logger logger = LoggerFactory.getLogger(ConversationMemoryStore.class);
+
+    private final MemoryConfiguration config;
+    private final ConversationSummarizer summarizer;
+    private final Clock clock;
+    private final LinkedHashMap<String, ConversationSession> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong totalTokens = new AtomicLong();
+    private final AtomicLong evictedSessions = new AtomicLong();
+
+    @Autowired
+    public ConversationMemoryStore(MemoryConfiguration config) {
+        this(config, new ExtractiveSummarizer(), Clock.systemUTC());
+    }
+
+    public ConversationMemoryStore(MemoryConfiguration config, ConversationSummarizer summarizer, Clock clock) {
+        this.config = config;
+        this.summarizer = summarizer;
+        this.clock = clock;
+    }
+
+    /**
+     * Record a user message
+     */
+    public ConversationTurn addUserMessage(String sessionId, String message) {
+        return append(sessionId, inline(ConversationTurn.Role.USER, message));
+    }
+
+    /**
+     * Record a model response
+     */
+    public ConversationTurn addAssistantMessage(String sessionId, String message) {
+        return append(sessionId, inline(ConversationTurn.Role.ASSISTANT, message));
+    }
+
+    /**
+     * Record a tool result. Outputs above the inline limit are stored by
+     * reference and only a preview enters the prompt history.
+     */
+    public ConversationTurn addToolResult(String sessionId, String toolName, String output) {
+        int tokens = TokenEstimator.estimate(output);
+        if (tokens <= config.getInlineToolOutputTokens()) {
+            return append(sessionId, new ConversationTurn(ConversationTurn.Role.TOOL, output, toolName, null,
+                    clock.instant()));
+        }
+
+        while (true) {
+            ConversationSession session = getOrCreate(sessionId);
+            int delta;
+            ConversationTurn turn;
+            synchronized (session) {
+                if (session.isEvicted()) {
+                    continue;
+                }
+                int before = session.retainedTokens();
+                String reference = session.store(output, tokens, config.getMaxStoredTokens());
+                String preview = String.format("[%s output stored as %s, ~%d tokens] %s", toolName, reference,
+                        tokens, TokenEstimator.truncate(output, config.getInlineToolOutputTokens() / 2));
+                turn = new ConversationTurn(ConversationTurn.Role.TOOL, preview, toolName, reference,
+                        clock.instant());
+                delta = session.retainedTokens() - before + session.append(turn, config, summarizer);
+            }
+            adjustTotal(delta, session);
+            return turn;
+        }
+    }
+
+    /**
+     * Prompt history for a session, oldest first; empty for unknown sessions
+     */
+    public List<ConversationTurn> getHistory(String sessionId) {
+        ConversationSession session = get(sessionId);
+        if (session == null) {
+            return Collections.emptyList();
+        }
+        synchronized (session) {
+            return session.history();
+        }
+    }
+
+    /**
+     * Full output of a tool result stored by reference, or null once it has been evicted
+     */
+    public String resolveReference(String sessionId, String reference) {
+        ConversationSession session = get(sessionId);
+        if (session == null) {
+            return null;
+        }
+        synchronized (session) {
+            return session.resolve(reference);
+        }
+    }
+
+    public void endSession(String sessionId) {
+        ConversationSession session;
+        synchronized (sessions) {
+            session = sessions.remove(sessionId);
+        }
+        if (session != null) {
+            release(session);
+        }
+    }
+
+    public int getSessionCount() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    public long getTotalTokens() {
+        return totalTokens.get();
+    }
+
+    public long getEvictedSessionCount() {
+        return evictedSessions.get();
+    }
+
+    private ConversationTurn inline(ConversationTurn.Role role, String message) {
+        int maxTokens = config.getMaxHistoryTokens() - config.getSummaryMaxTokens();
+        return new ConversationTurn(role, TokenEstimator.truncate(message, maxTokens), null, null, clock.instant());
+    }
+
+    private ConversationTurn append(String sessionId, ConversationTurn turn) {
+        while (true) {
+            ConversationSession session = getOrCreate(sessionId);
+            int delta;
+            synchronized (session) {
+                if (session.isEvicted()) {
+                    continue;
+                }
+                delta = session.append(turn, config, summarizer);
+            }
+            adjustTotal(delta, session);
+            return turn;
+        }
+    }
+
+    private ConversationSession get(String sessionId) {
+        synchronized (sessions) {
+            ConversationSession session = sessions.get(sessionId);
+            if (session != null) {
+                session.touch(clock.millis());
+            }
+            return session;
+        }
+    }
+
+    private ConversationSession getOrCreate(String sessionId) {
+        long now = clock.millis();
+        List<ConversationSession> evicted;
+        ConversationSession session;
+        synchronized (sessions) {
+            evicted = evictIdle(now);
+            session = sessions.get(sessionId);
+            if (session == null) {
+                session = new ConversationSession(sessionId, now);
+                sessions.put(sessionId, session);
+                if (sessions.size() > config.getMaxSessions()) {
+                    evicted.add(removeEldest());
+                }
+            }
+            session.touch(now);
+        }
+        evicted.forEach(this::release);
+        return session;
+    }
+
+    private void adjustTotal(int delta, ConversationSession current) {
+        if (totalTokens.addAndGet(delta) <= config.getMaxTotalTokens()) {
+            return;
+        }
+        List<ConversationSession> evicted = new ArrayList<>();
+        synchronized (sessions) {
+            long projected = totalTokens.get();
+            Iterator<ConversationSession> eldest = sessions.values().iterator();
+            while (projected > config.getMaxTotalTokens() && eldest.hasNext()) {
+                ConversationSession candidate = eldest.next();
+                if (candidate == current) {
+                    continue;
+                }
+                eldest.remove();
+                evicted.add(candidate);
+                synchronized (candidate) {
+                    projected -= candidate.retainedTokens();
+                }
+            }
+        }
+        evicted.forEach(this::release);
+    }
+
+    /**
+     * Remove sessions idle past the timeout. Access order puts the idlest first,
+     * so the scan stops at the first active session.
+     */
+    private List<ConversationSession> evictIdle(long now) {
+        List<ConversationSession> evicted = new ArrayList<>();
+        long idleMillis = config.getSessionIdleTimeout().toMillis();
+        Iterator<ConversationSession> eldest = sessions.values().iterator();
+        while (eldest.hasNext()) {
+            ConversationSession candidate = eldest.next();
+            if (now - candidate.getLastAccessMillis() < idleMillis) {
+                break;
+            }
+            eldest.remove();
+            evicted.add(candidate);
+        }
+        return evicted;
+    }
+
+    private ConversationSession removeEldest() {
+        Iterator<Map.Entry<String, ConversationSession>> eldest = sessions.entrySet().iterator();
+        ConversationSession session = eldest.next().getValue();
+        eldest.remove();
+        return session;
+    }
+
+    private void release(ConversationSession session) {
+        int tokens;
+        synchronized (session) {
+            if (session.isEvicted()) {
+                return;
+            }
+            tokens = session.evict();
+        }
+        totalTokens.addAndGet(-tokens);
+        evictedSessions.incrementAndGet();
+        logger.debug("Evicted conversation session {} ({} tokens)", session.getId(), tokens);
+    }
+}
@@ -0,0 +1,141 @@
+package com.bics.agent.memory;
+
+import com.bics.agent.config.MemoryConfiguration;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * History of one conversation. Access is synchronized on the session; the
+ * mutators return the change in retained tokens so the owning store can keep
+ * its global total without locking every session.
+ */
+class ConversationSession {
+    private final String id;
+    private final Deque<ConversationTurn> turns = new ArrayDeque<>();
+    private final Map<String, String> storedOutputs = new LinkedHashMap<>();
+    private ConversationTurn summary;
+    private int historyTokens;
+    private int storedTokens;
+    private int nextReference;
+    private boolean evicted;
+    private volatile long lastAccessMillis;
+
+    ConversationSession(String id, long now) {
+        this.id = id;
+        this.lastAccessMillis = now;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    void touch(long now) {
+        lastAccessMillis = now;
+    }
+
+    boolean isEvicted() {
+        return evicted;
+    }
+
+    /**
+     * Mark the session as removed from the store and return the tokens it held
+     */
+    int evict() {
+        evicted = true;
+        return retainedTokens();
+    }
+
+    int retainedTokens() {
+        return historyTokens + storedTokens + summaryTokens();
+    }
+
+    /**
+     * Append a turn and compact the history if it goes over budget
+     */
+    int append(ConversationTurn turn, MemoryConfiguration config, ConversationSummarizer summarizer) {
+        int before = retainedTokens();
+        turns.addLast(turn);
+        historyTokens += turn.getTokens();
+        compact(config, summarizer);
+        return retainedTokens() - before;
+    }
+
+    /**
+     * Keep a large tool output out of the prompt and return its reference.
+     * An output larger than the session's store budget is truncated to fit it;
+     * the oldest stored outputs are dropped once the budget is spent.
+     */
+    String store(String output, int tokens, int maxStoredTokens) {
+        String reference = "tool-" + (++nextReference);
+        if (tokens > maxStoredTokens) {
+            output = TokenEstimator.truncate(output, maxStoredTokens);
+            tokens = TokenEstimator.estimate(output);
+        }
+        storedOutputs.put(reference, output);
+        storedTokens += tokens;
+
+        Iterator<Map.Entry<String, String>> eldest = storedOutputs.entrySet().iterator();
+        while (storedTokens > maxStoredTokens && storedOutputs.size() > 1) {
+            storedTokens -= TokenEstimator.estimate(eldest.next().getValue());
+            eldest.remove();
+        }
+        return reference;
+    }
+
+    String resolve(String reference) {
+        return storedOutputs.get(reference);
+    }
+
+    /**
+     * Prompt history: the running summary, if any, followed by the retained turns
+     */
+    List<ConversationTurn> history() {
+        List<ConversationTurn> history = new ArrayList<>(turns.size() + 1);
+        if (summary != null) {
+            history.add(summary);
+        }
+        history.addAll(turns);
+        return history;
+    }
+
+    private void compact(MemoryConfiguration config, ConversationSummarizer summarizer) {
+        int budget = config.getMaxHistoryTokens();
+        if (historyTokens + summaryTokens() <= budget) {
+            return;
+        }
+
+        // Fold down to the recent window in one go so compaction runs once per
+        // window rather than on every turn, then keep folding if the recent
+        // turns alone still exceed the budget.
+        int reserve = config.getSummaryMaxTokens();
+        List<ConversationTurn> folded = new ArrayList<>();
+        while (turns.size() > 1
+                && (turns.size() > config.getKeepRecentTurns() || historyTokens + reserve > budget)) {
+            ConversationTurn oldest = turns.pollFirst();
+            historyTokens -= oldest.getTokens();
+            folded.add(oldest);
+        }
+        if (folded.isEmpty()) {
+            return;
+        }
+
+        String previous = summary != null ? summary.getContent() : null;
+        String content = summarizer.summarize(previous, folded, reserve);
+        summary = new ConversationTurn(ConversationTurn.Role.SUMMARY, content, null, null,
+                folded.get(folded.size() - 1).getTimestamp());
+    }
+
+    private int summaryTokens() {
+        return summary != null ? summary.getTokens() : 0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.bics.agent.memory;
+
+import java.util.List;
+
+/**
+ * Folds old conversation turns into a bounded summary.
+ */
+public interface ConversationSummarizer {
+
+    /**
+     * Summarize the given turns, merged with any previous summary
+     *
+     * @param previousSummary summary of earlier turns, or null
+     * @param turns turns being removed from the history, oldest first
+     * @param maxTokens budget for the returned summary
+     */
+    String summarize(String previousSummary, List<ConversationTurn> turns, int maxTokens);
+}
@@ -0,0 +1,55 @@
+package com.bics.agent.memory;
+
+import java.time.Instant;
+
+/**
+ * A single message in a conversation session.
+ * Large tool outputs are kept out of the prompt: the turn carries a short
+ * preview and {@link #getReference()} points at the full output in the session.
+ */
+public class ConversationTurn {
+
+    public enum Role {
+        USER, ASSISTANT, TOOL, SUMMARY
+    }
+
+    private final Role role;
+    private final String content;
+    private final String toolName;
+    private final String reference;
+    private final int tokens;
+    private final Instant timestamp;
+
+    public ConversationTurn(Role role, String content, String toolName, String reference, Instant timestamp) {
+        this.role = role;
+        this.content = content;
+        this.toolName = toolName;
+        this.reference = reference;
+        this.tokens = TokenEstimator.estimate(content);
+        this.timestamp = timestamp;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public String getToolName() {
+        return toolName;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public int getTokens() {
+        return tokens;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bics.agent.memory;
+
+import java.util.List;
+
+/**
+ * Model-free summarizer that keeps the first line of each turn.
+ * Used until summarization through the model is available; newest content
+ * is kept when the budget runs out since it is most likely to be referenced.
+ */
+public class ExtractiveSummarizer implements ConversationSummarizer {
+    private static final int MAX_LINE_TOKENS = 40;
+
+    @Override
+    public String summarize(String previousSummary, List<ConversationTurn> turns, int maxTokens) {
+        StringBuilder builder = new StringBuilder();
+        if (previousSummary != null) {
+            builder.append(previousSummary).append('\n');
+        }
+        for (ConversationTurn turn : turns) {
+            String content = turn.getContent() != null ? turn.getContent() : "";
+            int newline = content.indexOf('\n');
+            String firstLine = newline >= 0 ? content.substring(0, newline) : content;
+            builder.append(turn.getRole().name().toLowerCase());
+            if (turn.getToolName() != null) {
+                builder.append('(').append(turn.getToolName()).append(')');
+            }
+            builder.append(": ").append(TokenEstimator.truncate(firstLine, MAX_LINE_TOKENS)).append('\n');
+        }
+
+        return TokenEstimator.truncateHead(builder.toString().trim(), maxTokens);
+    }
+}
@@ -0,0 +1,43 @@
+package com.bics.agent.memory;
+
+/**
+ * Cheap token estimate for budgeting prompt history.
+ * Uses the common ~4 characters per token approximation for English and
+ * JSON text, plus a fixed per-message overhead for role markers.
+ */
+public final class TokenEstimator {
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int MESSAGE_OVERHEAD = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return MESSAGE_OVERHEAD;
+        }
+        return MESSAGE_OVERHEAD + (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * Cut text down to roughly the given number of tokens
+     */
+    public static String truncate(String text, int maxTokens) {
+        int maxChars = Math.max(0, maxTokens - MESSAGE_OVERHEAD) * CHARS_PER_TOKEN;
+        if (text == null || text.length() <= maxChars) {
+            return text;
+        }
+        return text.substring(0, Math.max(0, maxChars - 3)) + "...";
+    }
+
+    /**
+     * Cut text down to roughly the given number of tokens, keeping the end
+     */
+    public static String truncateHead(String text, int maxTokens) {
+        int maxChars = Math.max(0, maxTokens - MESSAGE_OVERHEAD) * CHARS_PER_TOKEN;
+        if (text == null || text.length() <= maxChars) {
+            return text;
+        }
+        return "..." + text.substring(text.length() - Math.max(0, maxChars - 3));
+    }
+}
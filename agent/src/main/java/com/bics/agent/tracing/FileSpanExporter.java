@@ -0,0 +1,210 @@
+package com.bics.agent.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes spans to a local file, one OTLP/JSON ExportTraceServiceRequest per
+ * line, so traces can be collected offline and replayed into any OTLP
+ * collector. Spans are queued and written by a background thread; when the
+ * queue is full new spans are dropped and counted. Once the file reaches its
+ * maximum size it is rotated to {@code <file>.1}, keeping at most
+ * {@code maxFiles} rotated files.
+ */
+public class FileSpanExporter implements SpanExporter {
+    private static final Logger logger = LoggerFactory.getLogger(FileSpanExporter.class);
+    private static final int MAX_BATCH = 512;
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int SPAN_KIND_CLIENT = 3;
+    private static final int STATUS_CODE_ERROR = 2;
+
+    private final Path file;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final String serviceName;
+    private final BlockingQueue<Span> queue;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private long fileBytes;
+
+    public FileSpanExporter(Path file, long maxFileBytes, int maxFiles, String serviceName, int queueCapacity) {
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.serviceName = serviceName;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::drain, "span-exporter");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void export(Span span) {
+        if (!queue.offer(span)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() {
+        // Not interrupted: an interrupt during a write closes the file channel
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            fileBytes = Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            logger.error("Cannot create trace directory for {}: {}", file, e.getMessage());
+            return;
+        }
+
+        List<Span> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Span first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - batch.size());
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Span> batch) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(toOtlp(batch)) + System.lineSeparator())
+                    .getBytes(StandardCharsets.UTF_8);
+            if (line.length > maxFileBytes && batch.size() > 1) {
+                // Split so no single line outgrows a file
+                int half = batch.size() / 2;
+                write(batch.subList(0, half));
+                write(batch.subList(half, batch.size()));
+                return;
+            }
+            if (fileBytes > 0 && fileBytes + line.length > maxFileBytes) {
+                rotate();
+            }
+            Files.write(file, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            fileBytes += line.length;
+        } catch (IOException e) {
+            dropped.addAndGet(batch.size());
+            logger.warn("Failed to write {} spans to {}: {}", batch.size(), file, e.getMessage());
+        }
+    }
+
+    /**
+     * Shift {@code <file>.i} to {@code <file>.i+1}, dropping the oldest, and
+     * move the current file to {@code <file>.1}; with no rotated files kept the
+     * current file is simply deleted.
+     */
+    private void rotate() throws IOException {
+        if (maxFiles > 0) {
+            Files.deleteIfExists(rotated(maxFiles));
+            for (int i = maxFiles - 1; i >= 1; i--) {
+                Path source = rotated(i);
+                if (Files.exists(source)) {
+                    Files.move(source, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(file);
+        }
+        fileBytes = 0;
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private ObjectNode toOtlp(List<Span> batch) {
+        ObjectNode request = objectMapper.createObjectNode();
+        ObjectNode resourceSpans = request.putArray("resourceSpans").addObject();
+        ArrayNode resourceAttributes = resourceSpans.putObject("resource").putArray("attributes");
+        addAttribute(resourceAttributes, "service.name", serviceName);
+
+        ObjectNode scopeSpans = resourceSpans.putArray("scopeSpans").addObject();
+        scopeSpans.putObject("scope").put("name", "com.bics.agent");
+        ArrayNode spans = scopeSpans.putArray("spans");
+        for (Span span : batch) {
+            ObjectNode node = spans.addObject();
+            node.put("traceId", span.getTraceId());
+            node.put("spanId", span.getSpanId());
+            if (span.getParentSpanId() != null) {
+                node.put("parentSpanId", span.getParentSpanId());
+            }
+            node.put("name", span.getName());
+            node.put("kind", span.getKind() == Span.Kind.CLIENT ? SPAN_KIND_CLIENT : SPAN_KIND_INTERNAL);
+            node.put("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+            node.put("endTimeUnixNano", Long.toString(span.getStartEpochNanos() + span.getDurationNanos()));
+            ArrayNode attributes = node.putArray("attributes");
+            for (Map.Entry<String, Object> attribute : span.getAttributes().entrySet()) {
+                addAttribute(attributes, attribute.getKey(), attribute.getValue());
+            }
+            if (span.getErrorMessage() != null) {
+                node.putObject("status")
+                        .put("code", STATUS_CODE_ERROR)
+                        .put("message", span.getErrorMessage());
+            }
+        }
+        return request;
+    }
+
+    private static void addAttribute(ArrayNode attributes, String key, Object value) {
+        ObjectNode attribute = attributes.addObject();
+        attribute.put("key", key);
+        ObjectNode anyValue = attribute.putObject("value");
+        if (value instanceof Integer || value instanceof Long) {
+            // OTLP/JSON encodes 64-bit integers as strings
+            anyValue.put("intValue", value.toString());
+        } else if (value instanceof Number) {
+            anyValue.put("doubleValue", ((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            anyValue.put("boolValue", (Boolean) value);
+        } else {
+            anyValue.put("stringValue", String.valueOf(value));
+        }
+    }
+}
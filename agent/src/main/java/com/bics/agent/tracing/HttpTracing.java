@@ -0,0 +1,145 @@
+package com.bics.agent.tracing;
+
+import okhttp3.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OkHttp hooks that record a client span per call.
+ * The event listener times DNS, connect, TLS and time to first byte; the
+ * network interceptor adds the W3C {@code traceparent} header so BICS can
+ * correlate requests with the agent's traces.
+ */
+public class HttpTracing implements EventListener.Factory, Interceptor {
+    private final Tracer tracer;
+    private final Map<Call, Span> activeSpans = new ConcurrentHashMap<>();
+
+    public HttpTracing(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @NotNull
+    @Override
+    public EventListener create(@NotNull Call call) {
+        return new CallListener();
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Span span = activeSpans.get(chain.call());
+        if (span == null || !tracer.isPropagating()) {
+            return chain.proceed(chain.request());
+        }
+        return chain.proceed(chain.request().newBuilder()
+                .header("traceparent", span.traceparent())
+                .build());
+    }
+
+    /**
+     * Client span of a call in progress, or null if the call is not traced
+     */
+    public Span getSpan(Call call) {
+        return activeSpans.get(call);
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private final class CallListener extends EventListener {
+        private Span span;
+        private long dnsStart;
+        private long connectStart;
+        private long tlsStart;
+        private long requestStart;
+
+        @Override
+        public void callStart(@NotNull Call call) {
+            Request request = call.request();
+            span = tracer.startClientSpan("HTTP " + request.method() + " " + request.url().encodedPath(),
+                    tracer.currentSpan());
+            span.setAttribute("http.method", request.method())
+                    .setAttribute("server.address", request.url().host())
+                    .setAttribute("url.path", request.url().encodedPath());
+            activeSpans.put(call, span);
+        }
+
+        @Override
+        public void dnsStart(@NotNull Call call, @NotNull String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(@NotNull Call call, @NotNull String domainName, @NotNull List<InetAddress> addresses) {
+            span.setAttribute("http.dns_ms", millisSince(dnsStart));
+        }
+
+        @Override
+        public void connectStart(@NotNull Call call, @NotNull InetSocketAddress address, @NotNull Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(@NotNull Call call) {
+            tlsStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(@NotNull Call call, Handshake handshake) {
+            span.setAttribute("http.tls_ms", millisSince(tlsStart));
+        }
+
+        @Override
+        public void connectEnd(@NotNull Call call, @NotNull InetSocketAddress address, @NotNull Proxy proxy,
+                               Protocol protocol) {
+            span.setAttribute("http.connect_ms", millisSince(connectStart));
+        }
+
+        @Override
+        public void connectFailed(@NotNull Call call, @NotNull InetSocketAddress address, @NotNull Proxy proxy,
+                                  Protocol protocol, @NotNull IOException ioe) {
+            span.setAttribute("http.connect_ms", millisSince(connectStart));
+        }
+
+        @Override
+        public void requestHeadersStart(@NotNull Call call) {
+            requestStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(@NotNull Call call) {
+            span.setAttribute("http.server_ms", millisSince(requestStart));
+        }
+
+        @Override
+        public void responseHeadersEnd(@NotNull Call call, @NotNull Response response) {
+            span.setAttribute("http.status_code", response.code());
+        }
+
+        @Override
+        public void callEnd(@NotNull Call call) {
+            activeSpans.remove(call);
+            span.end();
+        }
+
+        @Override
+        public void callFailed(@NotNull Call call, @NotNull IOException ioe) {
+            activeSpans.remove(call);
+            span.recordError(ioe);
+            span.end();
+        }
+
+        @Override
+        public void canceled(@NotNull Call call) {
+            span.setAttribute("http.canceled", true);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.bics.agent.tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Where the time of one agent request went: the root span with every
+ * nested span (model calls, tool dispatches, HTTP calls) in start order.
+ * HTTP entries carry their DNS, connect, TLS and server timings.
+ */
+public class LatencyBreakdown {
+
+    /**
+     * One span in the breakdown, with its nesting depth below the root
+     */
+    public static class Entry {
+        private final String name;
+        private final int depth;
+        private final double durationMillis;
+        private final Map<String, Object> attributes;
+
+        Entry(String name, int depth, double durationMillis, Map<String, Object> attributes) {
+            this.name = name;
+            this.depth = depth;
+            this.durationMillis = durationMillis;
+            this.attributes = attributes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public double getDurationMillis() {
+            return durationMillis;
+        }
+
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+    }
+
+    private final String traceId;
+    private final double totalMillis;
+    private final List<Entry> entries;
+
+    LatencyBreakdown(Span root, List<Span> spans) {
+        this.traceId = root.getTraceId();
+        this.totalMillis = root.getDurationNanos() / 1e6;
+
+        Map<String, List<Span>> children = new HashMap<>();
+        for (Span span : spans) {
+            if (span.getParentSpanId() != null) {
+                children.computeIfAbsent(span.getParentSpanId(), key -> new ArrayList<>()).add(span);
+            }
+        }
+        List<Entry> collected = new ArrayList<>();
+        collect(root, 0, children, collected);
+        this.entries = Collections.unmodifiableList(collected);
+    }
+
+    private static void collect(Span span, int depth, Map<String, List<Span>> children, List<Entry> out) {
+        out.add(new Entry(span.getName(), depth, span.getDurationNanos() / 1e6, span.getAttributes()));
+        List<Span> nested = children.getOrDefault(span.getSpanId(), Collections.emptyList());
+        nested.sort(Comparator.comparingLong(Span::getStartEpochNanos));
+        for (Span child : nested) {
+            collect(child, depth + 1, children, out);
+        }
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Total time spent in spans with the given name prefix, e.g. "HTTP" or "tool"
+     */
+    public double totalMillis(String namePrefix) {
+        return entries.stream()
+                .filter(entry -> entry.getName().startsWith(namePrefix))
+                .mapToDouble(Entry::getDurationMillis)
+                .sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("trace ").append(traceId);
+        for (Entry entry : entries) {
+            builder.append('\n').append("  ".repeat(entry.getDepth()))
+                    .append(entry.getName())
+                    .append(String.format(" %.1fms", entry.getDurationMillis()));
+            for (String phase : new String[] {"http.dns_ms", "http.connect_ms", "http.tls_ms", "http.server_ms"}) {
+                Object value = entry.getAttributes().get(phase);
+                if (value != null) {
+                    builder.append(' ').append(phase, 5, phase.length() - 3).append('=').append(value).append("ms");
+                }
+            }
+        }
+        return builder.toString();
+    }
+}
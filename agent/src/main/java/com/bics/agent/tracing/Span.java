@@ -0,0 +1,115 @@
+package com.bics.agent.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A timed operation within a trace. Closing the span ends it; ending is idempotent.
+ */
+public class Span implements AutoCloseable {
+
+    public enum Kind {
+        INTERNAL, CLIENT
+    }
+
+    private final Tracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final Kind kind;
+    private final long startEpochNanos;
+    private final long startNanoTime;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private final Span previous;
+    private final AtomicBoolean ended = new AtomicBoolean();
+    private volatile long durationNanos = -1;
+    private volatile String errorMessage;
+
+    Span(Tracer tracer, String traceId, String spanId, Span parent, String name, Kind kind, Span previous) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parent != null ? parent.spanId : null;
+        this.name = name;
+        this.kind = kind;
+        this.previous = previous;
+        this.startEpochNanos = System.currentTimeMillis() * 1_000_000L;
+        this.startNanoTime = System.nanoTime();
+    }
+
+    public Span setAttribute(String key, Object value) {
+        synchronized (attributes) {
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    public void recordError(Throwable error) {
+        this.errorMessage = error.getClass().getSimpleName() + ": " + error.getMessage();
+    }
+
+    /**
+     * W3C trace context header value for this span
+     */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    public void end() {
+        if (!ended.compareAndSet(false, true)) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanoTime;
+        tracer.finish(this);
+    }
+
+    @Override
+    public void close() {
+        end();
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public Map<String, Object> getAttributes() {
+        synchronized (attributes) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        }
+    }
+
+    Span getPrevious() {
+        return previous;
+    }
+}
@@ -0,0 +1,22 @@
+package com.bics.agent.tracing;
+
+/**
+ * Destination for finished spans. Implementations must not block the caller.
+ */
+public interface SpanExporter extends AutoCloseable {
+
+    SpanExporter NOOP = span -> { };
+
+    void export(Span span);
+
+    /**
+     * Spans that could not be exported since startup
+     */
+    default long getDroppedCount() {
+        return 0;
+    }
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,170 @@
+package com.bics.agent.tracing;
+
+import com.bics.agent.config.TracingConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Creates spans and tracks the current span per thread.
+ * The current trace and span IDs are put in the logging MDC as
+ * {@code traceId} and {@code spanId}. Spans of a trace rooted in an internal
+ * span are collected until the root ends, which yields a {@link LatencyBreakdown}.
+ * With tracing disabled spans are still timed for breakdowns, but nothing is
+ * exported or propagated.
+ */
+@Component
+public class Tracer {
+    private static final Logger logger = LoggerFactory.getLogger(Tracer.class);
+    private static final int MAX_SPANS_PER_TRACE = 10_000;
+
+    private final TracingConfiguration config;
+    private final SpanExporter exporter;
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final Map<String, List<Span>> openTraces = new ConcurrentHashMap<>();
+    private final Map<String, LatencyBreakdown> breakdowns;
+
+    @Autowired
+    public Tracer(TracingConfiguration config) {
+        this(config, createExporter(config));
+    }
+
+    public Tracer(TracingConfiguration config, SpanExporter exporter) {
+        this.config = config;
+        this.exporter = exporter;
+        int historySize = config.getBreakdownHistorySize();
+        this.breakdowns = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LatencyBreakdown> eldest) {
+                return size() > historySize;
+            }
+        };
+    }
+
+    private static SpanExporter createExporter(TracingConfiguration config) {
+        String exportFile = config.getExportFile();
+        if (!config.isEnabled() || exportFile == null || exportFile.isEmpty()) {
+            return SpanExporter.NOOP;
+        }
+        return new FileSpanExporter(Paths.get(exportFile), config.getExportMaxFileSize().toBytes(),
+                config.getExportMaxFiles(), config.getServiceName(), config.getExportQueueCapacity());
+    }
+
+    /**
+     * Start a span as a child of the current span and make it current.
+     * Must be ended on the same thread, typically with try-with-resources.
+     */
+    public Span startSpan(String name) {
+        Span parent = current.get();
+        Span span = newSpan(parent, name, Span.Kind.INTERNAL, parent);
+        current.set(span);
+        MDC.put("traceId", span.getTraceId());
+        MDC.put("spanId", span.getSpanId());
+        return span;
+    }
+
+    /**
+     * Start a span for an outbound call. It does not become current, so it
+     * may be ended on another thread.
+     */
+    public Span startClientSpan(String name, Span parent) {
+        return newSpan(parent, name, Span.Kind.CLIENT, null);
+    }
+
+    public Span currentSpan() {
+        return current.get();
+    }
+
+    /**
+     * Whether outbound requests should carry trace context headers
+     */
+    public boolean isPropagating() {
+        return config.isEnabled() && config.isPropagate();
+    }
+
+    /**
+     * Breakdown of a finished trace, or null if unknown or no longer retained
+     */
+    public LatencyBreakdown getBreakdown(String traceId) {
+        synchronized (breakdowns) {
+            return breakdowns.get(traceId);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        exporter.close();
+        if (exporter != SpanExporter.NOOP) {
+            logger.info("Spans dropped by exporter: {}", exporter.getDroppedCount());
+        }
+    }
+
+    private Span newSpan(Span parent, String name, Span.Kind kind, Span previous) {
+        String spanId = randomHex(8);
+        String traceId = parent != null ? parent.getTraceId() : randomHex(16);
+        if (parent == null && kind == Span.Kind.INTERNAL) {
+            openTraces.put(traceId, new ArrayList<>());
+        }
+        return new Span(this, traceId, spanId, parent, name, kind, previous);
+    }
+
+    void finish(Span span) {
+        if (current.get() == span) {
+            Span previous = span.getPrevious();
+            if (previous != null) {
+                current.set(previous);
+                MDC.put("traceId", previous.getTraceId());
+                MDC.put("spanId", previous.getSpanId());
+            } else {
+                current.remove();
+                MDC.remove("traceId");
+                MDC.remove("spanId");
+            }
+        }
+
+        exporter.export(span);
+
+        if (span.getParentSpanId() == null) {
+            List<Span> spans = openTraces.remove(span.getTraceId());
+            if (spans != null) {
+                LatencyBreakdown breakdown;
+                synchronized (spans) {
+                    breakdown = new LatencyBreakdown(span, spans);
+                }
+                synchronized (breakdowns) {
+                    breakdowns.put(span.getTraceId(), breakdown);
+                }
+            }
+        } else {
+            List<Span> spans = openTraces.get(span.getTraceId());
+            if (spans != null) {
+                synchronized (spans) {
+                    if (spans.size() < MAX_SPANS_PER_TRACE) {
+                        spans.add(span);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String randomHex(int bytes) {
+        StringBuilder builder = new StringBuilder(bytes * 2);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < bytes; i++) {
+            int value = random.nextInt(256);
+            builder.append(Character.forDigit(value >> 4, 16)).append(Character.forDigit(value & 0xf, 16));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.bics.agent;
+
+import com.bics.agent.config.AgentConfiguration;
+import com.bics.agent.config.HttpCacheConfiguration;
+import com.bics.agent.config.MemoryConfiguration;
+import com.bics.agent.config.TracingConfiguration;
+import com.bics.agent.functions.ConnectPlugin;
+import com.bics.agent.functions.MyNumbersPlugin;
+import com.bics.agent.http.HttpClientFactory;
+import com.bics.agent.memory.ConversationMemoryStore;
+import com.bics.agent.tracing.LatencyBreakdown;
+import com.bics.agent.tracing.Tracer;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BicsSemanticAgent Tests")
+class BicsSemanticAgentTest {
+
+    private MockWebServer server;
+    private AnnotationConfigApplicationContext context;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        String baseUrl = server.url("").toString().replaceAll("/$", "");
+        AgentConfiguration agentConfig = new AgentConfiguration();
+        agentConfig.setApiUrls(Map.of("connect", baseUrl, "mynumbers", baseUrl));
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(AgentConfiguration.class, () -> agentConfig);
+        context.registerBean(HttpCacheConfiguration.class);
+        context.registerBean(MemoryConfiguration.class);
+        context.registerBean(TracingConfiguration.class);
+        context.registerBean(Tracer.class);
+        context.registerBean(HttpClientFactory.class);
+        context.registerBean(ConversationMemoryStore.class);
+        context.registerBean(ConnectPlugin.class);
+        context.registerBean(MyNumbersPlugin.class);
+        context.registerBean(BicsSemanticAgent.class);
+        context.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        context.close();
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("A turn's latency breakdown should include its tool calls and their HTTP calls")
+    void testTurnBreakdown() {
+        BicsSemanticAgent agent = context.getBean(BicsSemanticAgent.class);
+        MyNumbersPlugin numbers = context.getBean(MyNumbersPlugin.class);
+        server.enqueue(new MockResponse().setBody("{\"numbers\":[\"+3220000000\"]}"));
+
+        String traceId = agent.processRequest("s1", "List my Belgian numbers",
+                () -> agent.invokeTool("s1", "getNumbers", () -> numbers.getNumbers("token", "BE")));
+
+        LatencyBreakdown breakdown = agent.getLatencyBreakdown(traceId);
+        assertNotNull(breakdown);
+        List<LatencyBreakdown.Entry> entries = breakdown.getEntries();
+        assertEquals(3, entries.size());
+        assertEquals("agent.turn", entries.get(0).getName());
+        assertEquals("tool getNumbers", entries.get(1).getName());
+        assertEquals(1, entries.get(1).getDepth());
+        assertEquals("HTTP GET /v1/numbers", entries.get(2).getName());
+        assertEquals(2, entries.get(2).getDepth());
+        assertEquals(200, entries.get(2).getAttributes().get("http.status_code"));
+    }
+}
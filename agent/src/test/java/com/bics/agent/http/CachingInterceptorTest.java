@@ -0,0 +1,279 @@
+package com.bics.agent.http;
+
+import com.bics.agent.config.HttpCacheConfiguration;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CachingInterceptor Tests")
+class CachingInterceptorTest {
+
+    private MockWebServer server;
+    private MutableClock clock;
+    private HttpCacheConfiguration config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        clock = new MutableClock();
+        config = new HttpCacheConfiguration();
+        config.getTtlOverrides().put("/v1/addresses", Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private OkHttpClient client(CachingInterceptor interceptor) {
+        return new OkHttpClient.Builder().addInterceptor(interceptor).build();
+    }
+
+    private String get(OkHttpClient client, String path) throws IOException {
+        Request request = new Request.Builder().url(server.url(path)).get().build();
+        try (Response response = client.newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+
+    @Test
+    @DisplayName("Fresh entries should be served without a network call")
+    void testFreshHit() throws IOException {
+        CachingInterceptor interceptor = new CachingInterceptor(config, new OkHttpClient(), clock);
+        OkHttpClient client = client(interceptor);
+        server.enqueue(new MockResponse().setBody("[\"a\"]").setHeader("ETag", "\"v1\""));
+
+        assertEquals("[\"a\"]", get(client, "/v1/addresses"));
+        clock.advance(Duration.ofMinutes(5));
+        assertEquals("[\"a\"]", get(client, "/v1/addresses"));
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, interceptor.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Expired entries should be revalidated with If-None-Match")
+    void testConditionalRevalidation() throws Exception {
+        CachingInterceptor interceptor = new CachingInterceptor(config, new OkHttpClient(), clock);
+        OkHttpClient client = client(interceptor);
+        server.enqueue(new MockResponse().setBody("[\"a\"]").setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+
+        get(client, "/v1/addresses");
+        clock.advance(Duration.ofMinutes(11));
+        assertEquals("[\"a\"]", get(client, "/v1/addresses"));
+
+        server.takeRequest();
+        RecordedRequest revalidation = server.takeRequest();
+        assertEquals("\"v1\"", revalidation.getHeader("If-None-Match"));
+        assertEquals(1, interceptor.getNotModifiedCount());
+    }
+
+    @Test
+    @DisplayName("Stale entries should be served while revalidating in the background")
+    void testStaleWhileRevalidate() throws Exception {
+        config.setStaleWhileRevalidate(Duration.ofMinutes(1));
+        CachingInterceptor interceptor = new CachingInterceptor(config, new OkHttpClient(), clock);
+        OkHttpClient client = client(interceptor);
+        server.enqueue(new MockResponse().setBody("[\"a\"]").setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setBody("[\"b\"]").setHeader("ETag", "\"v2\""));
+
+        get(client, "/v1/addresses");
+        clock.advance(Duration.ofMinutes(10).plusSeconds(30));
+        assertEquals("[\"a\"]", get(client, "/v1/addresses"));
+
+        server.takeRequest();
+        assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+        assertEquals(1, interceptor.getRevalidationCount());
+    }
+
+    @Test
+    @DisplayName("Entries should be scoped to the Authorization header")
+    void testAuthorizationScope() throws IOException {
+        CachingInterceptor interceptor = new CachingInterceptor(config, new OkHttpClient(), clock);
+        OkHttpClient client = client(interceptor);
+        server.enqueue(new MockResponse().setBody("one"));
+        server.enqueue(new MockResponse().setBody("two"));
+
+        for (String token : new String[] {"token-1", "token-2"}) {
+            Request request = new Request.Builder()
+                    .url(server.url("/v1/addresses"))
+                    .addHeader("Authorization", "Bearer " + token)
+                    .build();
+            client.newCall(request).execute().close();
+        }
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(2, interceptor.size());
+    }
+
+    @Test
+    @DisplayName("GETs without a configured TTL should never be served from the cache")
+    void testNoTtlNotCached() throws IOException {
+        config.setStaleWhileRevalidate(Duration.ofSeconds(30));
+        CachingInterceptor interceptor = new CachingInterceptor(config, new OkHttpClient(), clock);
+        OkHttpClient client = client(interceptor);
+        server.enqueue(new MockResponse().setBody("{\"active\":true}").setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(401).setBody("revoked"));
+
+        assertEquals("{\"active\":true}", get(client, "/oauth/validate"));
+        assertEquals("revoked", get(client, "/oauth/validate"));
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(0, interceptor.size());
+        assertEquals(0, interceptor.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Server max-age should be honoured for paths without a configured TTL")
+    void testServerMaxAge() throws IOException {
+        CachingInterceptor interceptor = new CachingInterceptor(config, new OkHttpClient(), clock);
+        OkHttpClient client = client(interceptor);
+        server.enqueue(new MockResponse().setBody("up").setHeader("Cache-Control", "max-age=60"));
+        server.enqueue(new MockResponse().setBody("down"));
+
+        assertEquals("up", get(client, "/status"));
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals("up", get(client, "/status"));
+        clock.advance(Duration.ofSeconds(31));
+        assertEquals("down", get(client, "/status"));
+
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Error responses on revalidation should evict the entry")
+    void testErrorEvicts() throws IOException {
+        CachingInterceptor interceptor = new CachingInterceptor(config, new OkHttpClient(), clock);
+        OkHttpClient client = client(interceptor);
+        server.enqueue(new MockResponse().setBody("[\"a\"]").setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(401).setBody("revoked"));
+        server.enqueue(new MockResponse().setBody("[\"b\"]"));
+
+        get(client, "/v1/addresses");
+        clock.advance(Duration.ofMinutes(11));
+        assertEquals("revoked", get(client, "/v1/addresses"));
+        assertEquals(0, interceptor.size());
+        assertEquals("[\"b\"]", get(client, "/v1/addresses"));
+    }
+
+    @Test
+    @DisplayName("Non-GET requests should invalidate their path and parent collection")
+    void testWriteInvalidates() throws IOException {
+        config.getTtlOverrides().put("/v1/numbers", Duration.ofMinutes(10));
+        CachingInterceptor interceptor = new CachingInterceptor(config, new OkHttpClient(), clock);
+        OkHttpClient client = client(interceptor);
+        server.enqueue(new MockResponse().setBody("[\"+3200\"]"));
+        server.enqueue(new MockResponse().setBody("[\"a\"]"));
+        server.enqueue(new MockResponse().setBody("{\"reserved\":true}"));
+
+        get(client, "/v1/numbers?country=BE");
+        get(client, "/v1/addresses");
+        Request reserve = new Request.Builder()
+                .url(server.url("/v1/numbers/reserve"))
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build();
+        client.newCall(reserve).execute().close();
+
+        assertEquals(1, interceptor.size());
+    }
+
+    @Test
+    @DisplayName("Failed non-GET requests should still invalidate their path")
+    void testFailedWriteInvalidates() throws IOException {
+        config.getTtlOverrides().put("/v1/numbers", Duration.ofMinutes(10));
+        CachingInterceptor interceptor = new CachingInterceptor(config, new OkHttpClient(), clock);
+        OkHttpClient client = client(interceptor).newBuilder().retryOnConnectionFailure(false).build();
+        server.enqueue(new MockResponse().setBody("[\"+3200\"]"));
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+
+        get(client, "/v1/numbers?country=BE");
+        Request reserve = new Request.Builder()
+                .url(server.url("/v1/numbers/reserve"))
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build();
+        assertThrows(IOException.class, () -> client.newCall(reserve).execute());
+
+        assertEquals(0, interceptor.size());
+    }
+
+    @Test
+    @DisplayName("TTL overrides should match whole path segments only")
+    void testOverrideSegments() {
+        config.getTtlOverrides().put("/status", Duration.ofSeconds(30));
+
+        assertEquals(Duration.ofSeconds(30), config.ttlFor("/status"));
+        assertEquals(Duration.ofSeconds(30), config.ttlFor("/status/detail"));
+        assertEquals(Duration.ZERO, config.ttlFor("/statusXYZ"));
+        assertEquals(Duration.ofMinutes(10), config.ttlFor("/v1/addresses/12"));
+        assertEquals(Duration.ZERO, config.ttlFor("/v1/addresses-archive"));
+    }
+
+    @Test
+    @DisplayName("Cached bodies should be bounded by the memory size")
+    void testMemorySizeBound() throws IOException {
+        config.setMaxMemorySize(DataSize.ofBytes(1500));
+        config.getTtlOverrides().put("/v1/cdr", Duration.ofMinutes(10));
+        CachingInterceptor interceptor = new CachingInterceptor(config, new OkHttpClient(), clock);
+        OkHttpClient client = client(interceptor);
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("x".repeat(600)));
+        }
+        server.enqueue(new MockResponse().setBody("x".repeat(2000)));
+
+        for (int i = 0; i < 3; i++) {
+            get(client, "/v1/cdr/" + i);
+        }
+        assertEquals(2, interceptor.size());
+        assertEquals(1200, interceptor.sizeInBytes());
+
+        get(client, "/v1/cdr/large");
+        assertEquals(2, interceptor.size());
+        assertTrue(interceptor.sizeInBytes() <= 1500);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.bics.agent.loadtest;
+
+import ch.qos.logback.classic.Level;
+import com.bics.agent.BicsSemanticAgent;
+import com.bics.agent.config.AgentConfiguration;
+import com.bics.agent.config.HttpCacheConfiguration;
+import com.bics.agent.config.MemoryConfiguration;
+import com.bics.agent.config.TracingConfiguration;
+import com.bics.agent.functions.ConnectPlugin;
+import com.bics.agent.functions.MyNumbersAddressManagementPlugin;
+import com.bics.agent.functions.MyNumbersEmergencyServicesPlugin;
+import com.bics.agent.functions.MyNumbersPlugin;
+import com.bics.agent.functions.SmsPlugin;
+import com.bics.agent.http.HttpClientFactory;
+import com.bics.agent.logging.CountingAsyncAppender;
+import com.bics.agent.logging.SampledLogger;
+import com.bics.agent.memory.ConversationMemoryStore;
+import com.bics.agent.tracing.Tracer;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load scenarios against the fake BICS backend. Excluded from the default
+ * build; run with {@code mvn test -Pload-test} and tune the run length with
+ * {@code -Dload.durationSeconds=N}; agent logging is off unless
+ * {@code -Dload.logLevel} is given.
+ */
+@Tag("load")
+@DisplayName("BICS Load Tests")
+class BicsLoadTest {
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.durationSeconds", 5));
+    private static final String[] API_NAMES = {
+            "connect", "mynumbers", "mynumbers-address", "mynumbers-cdr", "mynumbers-disconnection",
+            "mynumbers-emergency", "mynumbers-porting", "sms"
+    };
+
+    private static FakeBicsBackend backend;
+
+    private final List<HttpClientFactory> httpClientFactories = new ArrayList<>();
+
+    @BeforeAll
+    static void startBackend() throws IOException {
+        // Per-call logging would dominate the measurements unless explicitly requested
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.bics.agent"))
+                .setLevel(Level.toLevel(System.getProperty("load.logLevel"), Level.OFF));
+        java.util.logging.Logger.getLogger(MockWebServer.class.getName()).setLevel(java.util.logging.Level.WARNING);
+
+        backend = new FakeBicsBackend().start();
+    }
+
+    @AfterAll
+    static void stopBackend() throws IOException {
+        backend.close();
+    }
+
+    /**
+     * Release each scenario's dispatcher and connections so thread and heap
+     * figures of the next scenario are not inflated
+     */
+    @AfterEach
+    void closeHttpClients() {
+        httpClientFactories.forEach(HttpClientFactory::close);
+        httpClientFactories.clear();
+    }
+
+    private static AgentConfiguration agentConfiguration() {
+        Map<String, String> apiUrls = new HashMap<>();
+        for (String apiName : API_NAMES) {
+            apiUrls.put(apiName, backend.baseUrl());
+        }
+        AgentConfiguration config = new AgentConfiguration();
+        config.setApiUrls(apiUrls);
+        return config;
+    }
+
+    private static HttpCacheConfiguration httpCacheConfiguration(boolean cacheEnabled) {
+        HttpCacheConfiguration cacheConfig = new HttpCacheConfiguration();
+        cacheConfig.setEnabled(cacheEnabled);
+        cacheConfig.getTtlOverrides().put("/v1/addresses", Duration.ofSeconds(1));
+        return cacheConfig;
+    }
+
+    private HttpClientFactory httpClientFactory(boolean cacheEnabled) {
+        HttpClientFactory factory = new HttpClientFactory(httpCacheConfiguration(cacheEnabled));
+        httpClientFactories.add(factory);
+        return factory;
+    }
+
+    /**
+     * Plugins report failures as error JSON rather than throwing; count those as errors
+     */
+    private static Callable<String> checked(Callable<String> operation) {
+        return () -> {
+            String result = operation.call();
+            if (result == null || result.startsWith("{\"error\"")) {
+                throw new IllegalStateException("Failed response: " + result);
+            }
+            return result;
+        };
+    }
+
+    private static void print(LoadReport report) {
+        System.out.println(report);
+    }
+
+    @Test
+    @DisplayName("Token acquisition under fixed concurrency")
+    void testAuthenticate() throws Exception {
+        backend.withLatency(LatencyDistribution.logNormal(15, 0.5)).withErrorRate(0).withThrottleRate(0);
+        ConnectPlugin connect = new ConnectPlugin(agentConfiguration(), httpClientFactory(false));
+
+        LoadReport report = LoadGenerator.closedLoop("connect.authenticate", 16, DURATION,
+                () -> connect.authenticate("load-client", "load-secret"));
+        print(report);
+
+        assertTrue(report.getOperations() > 0);
+        assertEquals(0, report.getErrors());
+    }
+
+    @Test
+    @DisplayName("Number listing under fixed concurrency")
+    void testGetNumbers() throws Exception {
+        backend.withLatency(LatencyDistribution.logNormal(25, 0.6)).withErrorRate(0).withThrottleRate(0);
+        MyNumbersPlugin numbers = new MyNumbersPlugin(agentConfiguration(), httpClientFactory(false));
+
+        LoadReport report = LoadGenerator.closedLoop("mynumbers.getNumbers", 16, DURATION,
+                () -> numbers.getNumbers("load-test-token", "BE"));
+        print(report);
+
+        assertTrue(report.getOperations() > 0);
+        assertEquals(0, report.getErrors());
+    }
+
+    @Test
+    @DisplayName("SMS submission at a fixed arrival rate")
+    void testSendSms() throws Exception {
+        backend.withLatency(LatencyDistribution.uniform(5, 40)).withErrorRate(0).withThrottleRate(0);
+        SmsPlugin sms = new SmsPlugin(agentConfiguration(), httpClientFactory(false));
+
+        LoadReport report = LoadGenerator.openLoop("sms.sendSms", 500, 64, DURATION,
+                checked(() -> sms.sendSms("load-test-token", "+32470000000", "load test")));
+        print(report);
+
+        assertTrue(report.getOperations() > 0);
+        assertEquals(0, report.getErrors());
+    }
+
+    @Test
+    @DisplayName("SMS submission against a throttling backend")
+    void testSendSmsThrottled() throws Exception {
+        backend.withLatency(LatencyDistribution.uniform(5, 40)).withErrorRate(0).withThrottleRate(0.2);
+        SmsPlugin sms = new SmsPlugin(agentConfiguration(), httpClientFactory(false));
+
+        LoadReport report = LoadGenerator.openLoop("sms.sendSms+throttled", 500, 64, DURATION,
+                checked(() -> sms.sendSms("load-test-token", "+32470000000", "load test")));
+        print(report);
+
+        assertTrue(report.getErrors() > 0);
+        assertTrue(report.getErrors() < report.getOperations());
+    }
+
+    @Test
+    @DisplayName("Agent turns with tool calls, conversation memory and tracing")
+    void testAgentTurns(@TempDir Path traceDirectory) throws Exception {
+        backend.withLatency(LatencyDistribution.logNormal(15, 0.5)).withErrorRate(0).withThrottleRate(0);
+        TracingConfiguration tracingConfig = new TracingConfiguration();
+        tracingConfig.setExportFile(traceDirectory.resolve("traces.jsonl").toString());
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(AgentConfiguration.class, BicsLoadTest::agentConfiguration);
+            context.registerBean(HttpCacheConfiguration.class, () -> httpCacheConfiguration(true));
+            context.registerBean(MemoryConfiguration.class);
+            context.registerBean(TracingConfiguration.class, () -> tracingConfig);
+            context.registerBean(Tracer.class);
+            context.registerBean(HttpClientFactory.class);
+            context.registerBean(ConversationMemoryStore.class);
+            context.registerBean(ConnectPlugin.class);
+            context.registerBean(MyNumbersPlugin.class);
+            context.registerBean(SmsPlugin.class);
+            context.registerBean(BicsSemanticAgent.class);
+            context.refresh();
+
+            BicsSemanticAgent agent = context.getBean(BicsSemanticAgent.class);
+            MyNumbersPlugin numbers = context.getBean(MyNumbersPlugin.class);
+            SmsPlugin sms = context.getBean(SmsPlugin.class);
+            ConversationMemoryStore memory = context.getBean(ConversationMemoryStore.class);
+
+            LoadReport report = LoadGenerator.closedLoop("agent.turn", 16, DURATION, () -> {
+                String sessionId = "session-" + ThreadLocalRandom.current().nextInt(200);
+                String[] smsResult = new String[1];
+                agent.processRequest(sessionId, "List my Belgian numbers and text +32470000000 that they are ready",
+                        () -> {
+                            agent.invokeTool(sessionId, "getNumbers",
+                                    () -> numbers.getNumbers("load-test-token", "BE"));
+                            smsResult[0] = agent.invokeTool(sessionId, "sendSms",
+                                    () -> sms.sendSms("load-test-token", "+32470000000", "Your numbers are ready"));
+                        });
+                return checked(() -> smsResult[0]).call();
+            });
+            print(report);
+            System.out.printf("memory sessions=%d tokens=%d%n", memory.getSessionCount(), memory.getTotalTokens());
+
+            assertTrue(report.getOperations() > 0);
+            assertEquals(0, report.getErrors());
+            assertTrue(memory.getTotalTokens() <= context.getBean(MemoryConfiguration.class).getMaxTotalTokens());
+        }
+    }
+
+    @Test
+    @DisplayName("Reference data with and without the HTTP cache")
+    void testReferenceDataCaching() throws Exception {
+        backend.withLatency(LatencyDistribution.fixed(20)).withErrorRate(0).withThrottleRate(0);
+        MyNumbersAddressManagementPlugin uncached =
+                new MyNumbersAddressManagementPlugin(agentConfiguration(), httpClientFactory(false));
+        MyNumbersAddressManagementPlugin cached =
+                new MyNumbersAddressManagementPlugin(agentConfiguration(), httpClientFactory(true));
+        MyNumbersEmergencyServicesPlugin emergency =
+                new MyNumbersEmergencyServicesPlugin(agentConfiguration(), httpClientFactory(false));
+
+        LoadReport uncachedReport = LoadGenerator.closedLoop("address.getAddresses", 8, DURATION,
+                () -> uncached.getAddresses("load-test-token"));
+        LoadReport cachedReport = LoadGenerator.closedLoop("address.getAddresses+cache", 8, DURATION,
+                () -> cached.getAddresses("load-test-token"));
+        LoadReport emergencyReport = LoadGenerator.closedLoop("emergency.getEmergencyServices", 8, DURATION,
+                () -> emergency.getEmergencyServices("load-test-token"));
+        print(uncachedReport);
+        print(cachedReport);
+        print(emergencyReport);
+
+        assertTrue(cachedReport.getThroughput() > uncachedReport.getThroughput());
+    }
+
+    @Test
+    @DisplayName("Status checks against a throttling, failing backend")
+    void testStatusUnderFaults() throws Exception {
+        backend.withLatency(LatencyDistribution.logNormal(10, 0.5)).withErrorRate(0.01).withThrottleRate(0.05);
+        ConnectPlugin connect = new ConnectPlugin(agentConfiguration(), httpClientFactory(false));
+
+        LoadReport report = LoadGenerator.openLoop("connect.getStatus+faults", 200, 32, DURATION,
+                connect::getStatus);
+        print(report);
+
+        assertTrue(report.getErrors() > 0);
+        assertTrue(report.getErrors() < report.getOperations());
+    }
+
+    @Test
+    @DisplayName("Cost of plugin logging on the SMS hot path")
+    void testLoggingOverhead() throws Exception {
+        backend.withLatency(LatencyDistribution.none()).withErrorRate(0).withThrottleRate(0);
+        SmsPlugin sms = new SmsPlugin(agentConfiguration(), httpClientFactory(false));
+        ch.qos.logback.classic.Logger agentLogger =
+                (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.bics.agent");
+        Level previous = agentLogger.getLevel();
+
+        try {
+            agentLogger.setLevel(Level.OFF);
+            LoadReport silent = LoadGenerator.closedLoop("sms.sendSms+logging-off", 16, DURATION,
+                    checked(() -> sms.sendSms("load-test-token", "+32470000000", "load test")));
+            agentLogger.setLevel(Level.INFO);
+            long suppressedBefore = SampledLogger.getTotalSuppressed();
+            LoadReport logged = LoadGenerator.closedLoop("sms.sendSms+logging-info", 16, DURATION,
+                    checked(() -> sms.sendSms("load-test-token", "+32470000000", "load test")));
+            print(silent);
+            print(logged);
+            System.out.printf("log events suppressed=%d dropped=%d%n",
+                    SampledLogger.getTotalSuppressed() - suppressedBefore, CountingAsyncAppender.getDroppedCount());
+
+            assertTrue(SampledLogger.getTotalSuppressed() > suppressedBefore);
+        } finally {
+            agentLogger.setLevel(previous);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.bics.agent.loadtest;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.jetbrains.annotations.NotNull;
+
+import javax.net.ServerSocketFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the BICS APIs used by the plugins in
+ * {@code com.bics.agent.functions}, with configurable latency, error and
+ * throttling rates.
+ */
+public class FakeBicsBackend implements Closeable {
+    private static final String STATUS_ETAG = "\"status-1\"";
+    private static final String ADDRESSES_ETAG = "\"addresses-1\"";
+    private static final String EMERGENCY_ETAG = "\"emergency-1\"";
+
+    private final MockWebServer server = new MockWebServer();
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private final String numbersPayload = numbersPayload(50);
+    private final String addressesPayload = addressesPayload(20);
+
+    private volatile LatencyDistribution latency = LatencyDistribution.none();
+    private volatile double errorRate;
+    private volatile double throttleRate;
+
+    public FakeBicsBackend() {
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest request) {
+                return respond(request);
+            }
+        });
+    }
+
+    public FakeBicsBackend start() throws IOException {
+        server.start();
+        return this;
+    }
+
+    /**
+     * Base URL without trailing slash, as the plugins expect
+     */
+    public String baseUrl() {
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    public FakeBicsBackend withLatency(LatencyDistribution latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Fraction of requests answered with a 500
+     */
+    public FakeBicsBackend withErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Fraction of requests answered with a 429 and Retry-After
+     */
+    public FakeBicsBackend withThrottleRate(double throttleRate) {
+        this.throttleRate = throttleRate;
+        return this;
+    }
+
+    public long requestCount(String path) {
+        AtomicLong count = requestCounts.get(path);
+        return count != null ? count.get() : 0;
+    }
+
+    public long totalRequestCount() {
+        return server.getRequestCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private MockResponse respond(RecordedRequest request) {
+        String path = request.getRequestUrl() != null ? request.getRequestUrl().encodedPath() : "";
+        requestCounts.computeIfAbsent(path, key -> new AtomicLong()).incrementAndGet();
+
+        Random random = ThreadLocalRandom.current();
+        MockResponse response;
+        double roll = random.nextDouble();
+        if (roll < throttleRate) {
+            response = new MockResponse()
+                    .setResponseCode(429)
+                    .setHeader("Retry-After", "1")
+                    .setBody("{\"error\":\"Too many requests\"}");
+        } else if (roll < throttleRate + errorRate) {
+            response = new MockResponse()
+                    .setResponseCode(500)
+                    .setBody("{\"error\":\"Internal server error\"}");
+        } else {
+            response = route(request.getMethod(), path, request);
+        }
+
+        long delay = latency.sampleMillis(random);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return response.setHeader("Content-Type", "application/json");
+    }
+
+    private MockResponse route(String method, String path, RecordedRequest request) {
+        switch (method + " " + path) {
+            case "POST /oauth/token":
+                return json("{\"access_token\":\"load-test-token\",\"token_type\":\"Bearer\",\"expires_in\":3600}");
+            case "GET /oauth/validate":
+                return json("{\"active\":true}");
+            case "GET /status":
+                return cacheable(request, STATUS_ETAG, "{\"status\":\"UP\"}");
+            case "GET /v1/numbers":
+                return json(numbersPayload);
+            case "POST /v1/numbers/reserve":
+                return json("{\"status\":\"RESERVED\"}");
+            case "GET /v1/addresses":
+                return cacheable(request, ADDRESSES_ETAG, addressesPayload);
+            case "GET /v1/emergency-services":
+                return cacheable(request, EMERGENCY_ETAG, "{\"emergency_services\":[{\"country_code\":\"BE\",\"enabled\":true}]}");
+            case "POST /v1/sms/send":
+                return json("{\"message_id\":\"" + ThreadLocalRandom.current().nextLong(Long.MAX_VALUE)
+                        + "\",\"status\":\"QUEUED\"}");
+            default:
+                return new MockResponse().setResponseCode(404).setBody("{\"error\":\"Not found\"}");
+        }
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setBody(body);
+    }
+
+    private static MockResponse cacheable(RecordedRequest request, String etag, String body) {
+        if (etag.equals(request.getHeader("If-None-Match"))) {
+            return new MockResponse().setResponseCode(304).setHeader("ETag", etag);
+        }
+        return new MockResponse().setHeader("ETag", etag).setBody(body);
+    }
+
+    private static String numbersPayload(int count) {
+        StringBuilder builder = new StringBuilder("{\"numbers\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(String.format("{\"phone_number\":\"+3220%07d\",\"country_code\":\"BE\"}", i));
+        }
+        return builder.append("]}").toString();
+    }
+
+    private static String addressesPayload(int count) {
+        StringBuilder builder = new StringBuilder("{\"addresses\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(String.format(
+                    "{\"id\":%d,\"street\":\"Rue Lebeau %d\",\"city\":\"Brussels\",\"country_code\":\"BE\"}", i, i + 1));
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+     * MockWebServer flushes headers and body separately; without TCP_NODELAY
+     * Nagle's algorithm and delayed ACKs add ~40ms to every response.
+     */
+    private static final class NoDelayServerSocketFactory extends ServerSocketFactory {
+
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    Socket socket = super.accept();
+                    socket.setTcpNoDelay(true);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            return createServerSocket(port, 50, null);
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            return createServerSocket(port, backlog, null);
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            ServerSocket socket = createServerSocket();
+            socket.bind(new InetSocketAddress(address, port), backlog);
+            return socket;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.bics.agent.loadtest;
+
+import java.util.Random;
+
+/**
+ * Server-side latency model for the fake BICS backend.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * Draw the next response delay in milliseconds
+     */
+    long sampleMillis(Random random);
+
+    static LatencyDistribution none() {
+        return random -> 0;
+    }
+
+    static LatencyDistribution fixed(long millis) {
+        return random -> millis;
+    }
+
+    static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+    }
+
+    /**
+     * Long-tailed delays typical of remote APIs. A sigma of 0.5 puts p99 at
+     * roughly 3.2x the median.
+     */
+    static LatencyDistribution logNormal(double medianMillis, double sigma) {
+        return random -> Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+    }
+}
@@ -0,0 +1,157 @@
+package com.bics.agent.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives an operation under closed-loop (fixed concurrency) or open-loop
+ * (fixed arrival rate) load. Any exception thrown by the operation counts as an error.
+ */
+public final class LoadGenerator {
+    private static final long SAMPLE_INTERVAL_MILLIS = 50;
+
+    private LoadGenerator() {
+    }
+
+    /**
+     * Run {@code concurrency} workers back to back for the given duration
+     */
+    public static LoadReport closedLoop(String scenario, int concurrency, Duration duration,
+                                        Callable<?> operation) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        ResourceSampler sampler = new ResourceSampler();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        Thread[] workers = new Thread[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            workers[i] = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    boolean ok = invoke(operation);
+                    recorder.record(System.nanoTime() - begin, ok);
+                }
+            }, "load-" + scenario + "-" + i);
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        sampler.stop();
+        return recorder.report(scenario, "closed", elapsed, sampler);
+    }
+
+    /**
+     * Issue {@code ratePerSecond} operations per second regardless of how fast
+     * they complete. Latency is measured from the intended start so queueing
+     * behind slow calls is not hidden.
+     */
+    public static LoadReport openLoop(String scenario, int ratePerSecond, int maxConcurrency, Duration duration,
+                                      Callable<?> operation) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        ResourceSampler sampler = new ResourceSampler();
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(maxConcurrency,
+                runnable -> new Thread(runnable, "load-" + scenario + "-" + threadIndex.getAndIncrement()));
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= deadline) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            workers.execute(() -> {
+                boolean ok = invoke(operation);
+                recorder.record(System.nanoTime() - intended, ok);
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        sampler.stop();
+        return recorder.report(scenario, "open", elapsed, sampler);
+    }
+
+    private static boolean invoke(Callable<?> operation) {
+        try {
+            operation.call();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static final class LatencyRecorder {
+        private long[] latencies = new long[4096];
+        private int count;
+        private long errors;
+
+        synchronized void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized LoadReport report(String scenario, String mode, Duration elapsed, ResourceSampler sampler) {
+            return new LoadReport(scenario, mode, Arrays.copyOf(latencies, count), errors, elapsed,
+                    sampler.peakHeapBytes.get(), (int) sampler.peakThreads.get());
+        }
+    }
+
+    /**
+     * Samples heap usage and live thread count in the background.
+     */
+    private static final class ResourceSampler {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final AtomicLong peakHeapBytes = new AtomicLong();
+        private final AtomicLong peakThreads = new AtomicLong();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        ResourceSampler() {
+            thread = new Thread(() -> {
+                while (running) {
+                    sample();
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(SAMPLE_INTERVAL_MILLIS));
+                }
+            }, "load-resource-sampler");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void sample() {
+            peakHeapBytes.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+        }
+
+        void stop() throws InterruptedException {
+            sample();
+            running = false;
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.bics.agent.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Result of a single load scenario.
+ */
+public class LoadReport {
+    private final String scenario;
+    private final String mode;
+    private final long[] latenciesNanos;
+    private final long errors;
+    private final Duration elapsed;
+    private final long peakHeapBytes;
+    private final int peakThreads;
+
+    public LoadReport(String scenario, String mode, long[] latenciesNanos, long errors, Duration elapsed,
+                      long peakHeapBytes, int peakThreads) {
+        this.scenario = scenario;
+        this.mode = mode;
+        this.latenciesNanos = latenciesNanos.clone();
+        Arrays.sort(this.latenciesNanos);
+        this.errors = errors;
+        this.elapsed = elapsed;
+        this.peakHeapBytes = peakHeapBytes;
+        this.peakThreads = peakThreads;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public long getOperations() {
+        return latenciesNanos.length;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getThroughput() {
+        return elapsed.isZero() ? 0 : latenciesNanos.length / (elapsed.toNanos() / 1e9);
+    }
+
+    /**
+     * Latency at the given percentile (0-100) in milliseconds
+     */
+    public double percentileMillis(double percentile) {
+        if (latenciesNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * latenciesNanos.length) - 1;
+        return latenciesNanos[Math.max(0, Math.min(index, latenciesNanos.length - 1))] / 1e6;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    public int getPeakThreads() {
+        return peakThreads;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%-30s %-6s ops=%-7d err=%-5d %8.1f ops/s  p50=%7.2fms p90=%7.2fms p99=%7.2fms max=%7.2fms  heap=%4dMB threads=%d",
+                scenario, mode, getOperations(), errors, getThroughput(),
+                percentileMillis(50), percentileMillis(90), percentileMillis(99), percentileMillis(100),
+                peakHeapBytes / (1024 * 1024), peakThreads);
+    }
+}
@@ -0,0 +1,108 @@
+package com.bics.agent.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SampledLogger Tests")
+class SampledLoggerTest {
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        logger = (Logger) LoggerFactory.getLogger("com.bics.agent.logging.SampledLoggerTest.target");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        SampledLogger.setPermitsPerSecond(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        SampledLogger.setPermitsPerSecond(5);
+    }
+
+    @Test
+    @DisplayName("Success lines beyond the rate should be suppressed per operation")
+    void testSuccessSampling() {
+        SampledLogger sampled = new SampledLogger(logger);
+        long suppressedBefore = SampledLogger.getTotalSuppressed();
+
+        for (int i = 0; i < 100; i++) {
+            sampled.info("sendSms", "SMS sent successfully to: {}", "+32470000000");
+            sampled.info("getNumbers", "Successfully retrieved numbers");
+        }
+
+        // A second boundary inside the loop can let one extra window through
+        assertTrue(appender.list.size() >= 6 && appender.list.size() <= 12);
+        assertTrue(SampledLogger.getTotalSuppressed() - suppressedBefore >= 188);
+        assertEquals("operation", appender.list.get(0).getKeyValuePairs().get(0).key);
+    }
+
+    @Test
+    @DisplayName("Errors should always be logged but only carry stack traces within the rate")
+    void testErrorStackTraces() {
+        SampledLogger sampled = new SampledLogger(logger);
+
+        for (int i = 0; i < 10; i++) {
+            sampled.error("sendSms", "Error sending SMS", new IOException("connection reset"));
+        }
+
+        assertEquals(10, appender.list.size());
+        assertEquals("Error sending SMS: connection reset", appender.list.get(0).getFormattedMessage());
+        long withStack = appender.list.stream().filter(event -> event.getThrowableProxy() != null).count();
+        assertTrue(withStack >= 3 && withStack < 10);
+    }
+
+    @Test
+    @DisplayName("Failed responses should be rate-limited with a truncated body")
+    void testErrorResponses() {
+        SampledLogger sampled = new SampledLogger(logger);
+        long successSuppressedBefore = SampledLogger.getTotalSuppressed();
+        long failuresSuppressedBefore = SampledLogger.getTotalFailuresSuppressed();
+
+        for (int i = 0; i < 100; i++) {
+            sampled.errorResponse("sendSms", "Failed to send SMS", 429, "x".repeat(5000));
+        }
+
+        assertTrue(appender.list.size() >= 3 && appender.list.size() <= 6);
+        ILoggingEvent first = appender.list.get(0);
+        assertEquals(Level.ERROR, first.getLevel());
+        assertEquals("Failed to send SMS: 429", first.getFormattedMessage());
+        assertEquals("operation", first.getKeyValuePairs().get(0).key);
+        assertTrue(first.getKeyValuePairs().get(1).value.toString().length() < 300);
+        assertEquals(successSuppressedBefore, SampledLogger.getTotalSuppressed());
+        assertEquals(100 - appender.list.size(), SampledLogger.getTotalFailuresSuppressed() - failuresSuppressedBefore);
+    }
+
+    @Test
+    @DisplayName("Disabled levels should not consume permits")
+    void testDisabledLevel() {
+        logger.setLevel(Level.WARN);
+        SampledLogger sampled = new SampledLogger(logger);
+
+        for (int i = 0; i < 10; i++) {
+            sampled.info("getStatus", "Connect API status retrieved successfully");
+        }
+        logger.setLevel(Level.INFO);
+        sampled.info("getStatus", "Connect API status retrieved successfully");
+
+        assertEquals(1, appender.list.size());
+        assertEquals(1, appender.list.get(0).getKeyValuePairs().size());
+    }
+}
@@ -0,0 +1,145 @@
+package com.bics.agent.memory;
+
+import com.bics.agent.config.MemoryConfiguration;
+import com.bics.agent.exceptions.ConfigurationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConversationMemoryStore Tests")
+class ConversationMemoryStoreTest {
+
+    private MemoryConfiguration config;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        config = new MemoryConfiguration();
+        config.setMaxHistoryTokens(200);
+        config.setSummaryMaxTokens(50);
+        config.setKeepRecentTurns(2);
+        config.setInlineToolOutputTokens(40);
+        now = Instant.parse("2024-01-01T00:00:00Z");
+    }
+
+    private ConversationMemoryStore store() {
+        return new ConversationMemoryStore(config, new ExtractiveSummarizer(), new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        });
+    }
+
+    private static int historyTokens(List<ConversationTurn> history) {
+        return history.stream().mapToInt(ConversationTurn::getTokens).sum();
+    }
+
+    @Test
+    @DisplayName("History should stay within the token budget by summarising old turns")
+    void testCompaction() {
+        ConversationMemoryStore store = store();
+
+        for (int i = 0; i < 50; i++) {
+            store.addUserMessage("s1", "Please list the numbers available in country number " + i);
+            store.addAssistantMessage("s1", "Here are the numbers available for country " + i);
+        }
+
+        List<ConversationTurn> history = store.getHistory("s1");
+        assertTrue(historyTokens(history) <= config.getMaxHistoryTokens());
+        assertEquals(ConversationTurn.Role.SUMMARY, history.get(0).getRole());
+        assertTrue(history.get(history.size() - 1).getContent().endsWith("country 49"));
+    }
+
+    @Test
+    @DisplayName("Large tool outputs should be stored by reference")
+    void testToolOutputByReference() {
+        ConversationMemoryStore store = store();
+        String numbers = "{\"numbers\":[" + "\"+3220000000\",".repeat(200) + "\"+3220000001\"]}";
+
+        ConversationTurn turn = store.addToolResult("s1", "getNumbers", numbers);
+
+        assertNotNull(turn.getReference());
+        assertTrue(turn.getTokens() < TokenEstimator.estimate(numbers));
+        assertEquals(numbers, store.resolveReference("s1", turn.getReference()));
+    }
+
+    @Test
+    @DisplayName("A single oversized tool output should be truncated to the session store budget")
+    void testOversizedToolOutput() {
+        config.setMaxStoredTokens(1000);
+        config.setMaxTotalTokens(2000);
+        ConversationMemoryStore store = store();
+        store.addUserMessage("other", "Show my numbers");
+        String cdrPage = "{\"cdrs\":[" + "{\"from\":\"+3220000000\",\"duration\":60},".repeat(10000) + "{}]}";
+
+        ConversationTurn turn = store.addToolResult("s1", "getCdrs", cdrPage);
+
+        String stored = store.resolveReference("s1", turn.getReference());
+        assertTrue(TokenEstimator.estimate(stored) <= config.getMaxStoredTokens());
+        assertTrue(store.getTotalTokens() <= config.getMaxStoredTokens() + config.getMaxHistoryTokens()
+                + TokenEstimator.estimate("Show my numbers"));
+        assertFalse(store.getHistory("other").isEmpty());
+    }
+
+    @Test
+    @DisplayName("A global cap below one session's budget should be rejected")
+    void testGlobalCapValidation() {
+        config.setMaxStoredTokens(1000);
+        config.setMaxTotalTokens(1100);
+        assertThrows(ConfigurationException.class, config::validate);
+
+        config.setMaxTotalTokens(1200);
+        assertDoesNotThrow(config::validate);
+    }
+
+    @Test
+    @DisplayName("Idle sessions should be evicted")
+    void testIdleEviction() {
+        config.setSessionIdleTimeout(Duration.ofMinutes(5));
+        ConversationMemoryStore store = store();
+
+        store.addUserMessage("idle", "hello");
+        now = now.plus(Duration.ofMinutes(10));
+        store.addUserMessage("active", "hello");
+
+        assertEquals(1, store.getSessionCount());
+        assertTrue(store.getHistory("idle").isEmpty());
+        assertEquals(1, store.getEvictedSessionCount());
+    }
+
+    @Test
+    @DisplayName("Least recently used sessions should be evicted beyond the session and token caps")
+    void testGlobalCaps() {
+        config.setMaxSessions(3);
+        config.setMaxTotalTokens(100);
+        ConversationMemoryStore store = store();
+
+        for (int i = 0; i < 10; i++) {
+            store.addUserMessage("s" + i, "Send an SMS to +32470000000 saying hello");
+        }
+
+        assertTrue(store.getSessionCount() <= 3);
+        assertTrue(store.getTotalTokens() <= 100);
+        assertFalse(store.getHistory("s9").isEmpty());
+    }
+}
@@ -0,0 +1,162 @@
+package com.bics.agent.tracing;
+
+import com.bics.agent.config.HttpCacheConfiguration;
+import com.bics.agent.config.TracingConfiguration;
+import com.bics.agent.http.HttpClientFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tracer Tests")
+class TracerTest {
+
+    private MockWebServer server;
+    private TracingConfiguration config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        config = new TracingConfiguration();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private OkHttpClient client(Tracer tracer) {
+        HttpCacheConfiguration cacheConfig = new HttpCacheConfiguration();
+        cacheConfig.setEnabled(false);
+        return new HttpClientFactory(cacheConfig, tracer).getHttpClient();
+    }
+
+    @Test
+    @DisplayName("Outbound calls should carry the trace context of the current span")
+    void testPropagation() throws Exception {
+        Tracer tracer = new Tracer(config, SpanExporter.NOOP);
+        OkHttpClient client = client(tracer);
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        String traceId;
+        try (Span turn = tracer.startSpan("agent.turn")) {
+            traceId = turn.getTraceId();
+            assertEquals(traceId, MDC.get("traceId"));
+            client.newCall(new Request.Builder().url(server.url("/status")).build()).execute().close();
+        }
+
+        RecordedRequest recorded = server.takeRequest();
+        String traceparent = recorded.getHeader("traceparent");
+        assertNotNull(traceparent);
+        assertTrue(traceparent.startsWith("00-" + traceId + "-"));
+        assertNull(MDC.get("traceId"));
+    }
+
+    @Test
+    @DisplayName("Finished turns should have a latency breakdown including HTTP timings")
+    void testBreakdown() throws Exception {
+        Tracer tracer = new Tracer(config, SpanExporter.NOOP);
+        OkHttpClient client = client(tracer);
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        String traceId;
+        try (Span turn = tracer.startSpan("agent.turn")) {
+            traceId = turn.getTraceId();
+            try (Span tool = tracer.startSpan("tool getStatus")) {
+                client.newCall(new Request.Builder().url(server.url("/status")).build()).execute().close();
+            }
+        }
+
+        LatencyBreakdown breakdown = tracer.getBreakdown(traceId);
+        assertNotNull(breakdown);
+        assertEquals(3, breakdown.getEntries().size());
+        LatencyBreakdown.Entry http = breakdown.getEntries().get(2);
+        assertEquals(2, http.getDepth());
+        assertEquals("HTTP GET /status", http.getName());
+        assertEquals(200, http.getAttributes().get("http.status_code"));
+        assertNotNull(http.getAttributes().get("http.connect_ms"));
+    }
+
+    @Test
+    @DisplayName("Responses served from the HTTP cache should be marked on their span")
+    void testCacheHitSpan() throws Exception {
+        Tracer tracer = new Tracer(config, SpanExporter.NOOP);
+        HttpCacheConfiguration cacheConfig = new HttpCacheConfiguration();
+        cacheConfig.getTtlOverrides().put("/v1/addresses", Duration.ofMinutes(10));
+        OkHttpClient client = new HttpClientFactory(cacheConfig, tracer).getHttpClient();
+        server.enqueue(new MockResponse().setBody("[]"));
+
+        String traceId;
+        try (Span turn = tracer.startSpan("agent.turn")) {
+            traceId = turn.getTraceId();
+            for (int i = 0; i < 2; i++) {
+                client.newCall(new Request.Builder().url(server.url("/v1/addresses")).build()).execute().close();
+            }
+        }
+
+        List<LatencyBreakdown.Entry> entries = tracer.getBreakdown(traceId).getEntries();
+        assertEquals(3, entries.size());
+        assertNull(entries.get(1).getAttributes().get("http.cache"));
+        assertEquals("hit", entries.get(2).getAttributes().get("http.cache"));
+        assertEquals(200, entries.get(2).getAttributes().get("http.status_code"));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Spans should be exported as OTLP JSON lines")
+    void testFileExport(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("traces.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file, 1024 * 1024, 2, "test-service", 16);
+        Tracer tracer = new Tracer(config, exporter);
+
+        try (Span turn = tracer.startSpan("agent.turn")) {
+            turn.setAttribute("session.id", "s1");
+        }
+        exporter.close();
+
+        JsonNode request = new ObjectMapper().readTree(Files.readAllLines(file).get(0));
+        JsonNode span = request.at("/resourceSpans/0/scopeSpans/0/spans/0");
+        assertEquals("agent.turn", span.get("name").asText());
+        assertEquals(32, span.get("traceId").asText().length());
+        assertEquals("s1", span.at("/attributes/0/value/stringValue").asText());
+    }
+
+    @Test
+    @DisplayName("The export file should be rotated at its maximum size")
+    void testFileRotation(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("traces.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file, 2048, 2, "test-service", 1024);
+        Tracer tracer = new Tracer(config, exporter);
+
+        for (int i = 0; i < 200; i++) {
+            try (Span turn = tracer.startSpan("agent.turn")) {
+                turn.setAttribute("turn", i);
+            }
+        }
+        exporter.close();
+
+        assertTrue(Files.size(file) <= 2048);
+        assertTrue(Files.exists(directory.resolve("traces.jsonl.1")));
+        assertTrue(Files.exists(directory.resolve("traces.jsonl.2")));
+        assertFalse(Files.exists(directory.resolve("traces.jsonl.3")));
+        assertEquals(0, exporter.getDroppedCount());
+    }
+}